@@ -0,0 +1,86 @@
+package com.product.inventory.benchmark;
+
+import com.product.inventory.Application;
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application without its web layer, on an in-memory H2 database seeded with {@link #products} products
+ * spread over ten categories. Shared by every benchmark method of a fork.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"10000"})
+    public int products;
+
+    public ConfigurableApplicationContext context;
+
+    public long firstProductId;
+
+    @Setup(Level.Trial)
+    public void start()
+    {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        this.context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.product.inventory=WARN",
+                        "spring.jpa.show-sql=false")
+                .run();
+
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Category category = new Category();
+            category.setNameCategory("Category " + c);
+            categories.add(category);
+        }
+        categories = this.context.getBean(CategoryRepository.class).saveAll(categories);
+
+        ProductRepository productRepository = this.context.getBean(ProductRepository.class);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < this.products; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setDescription("Description of product " + i);
+            product.setPrice(1.0 + i % 1000);
+            product.setQuantity((long) (i % 250));
+            product.setCategory(categories.get(i % categories.size()));
+            batch.add(product);
+            if (batch.size() == 1000 || i == this.products - 1) {
+                batch = productRepository.saveAll(batch);
+                if (this.firstProductId == 0) {
+                    this.firstProductId = batch.get(0).getId();
+                }
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop()
+    {
+        this.context.close();
+    }
+
+    public <T> T bean(Class<T> type)
+    {
+        return this.context.getBean(type);
+    }
+}
@@ -0,0 +1,98 @@
+package com.product.inventory.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and fails when a benchmark got slower than the allowed
+ * relative threshold. Throughput scores must not drop, time-based scores must not rise.
+ * <p>
+ * Arguments: {@code <result.json> <baseline.json> <threshold> <update>}. With {@code update=true} the result replaces
+ * the baseline instead of being compared; a missing baseline is reported and not treated as a failure.
+ */
+public final class BaselineComparator {
+
+    private BaselineComparator()
+    {
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 4) {
+            System.err.println("usage: BaselineComparator <result.json> <baseline.json> <threshold> <update>");
+            System.exit(2);
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean update = Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(result)) {
+            System.out.println("No benchmark result at " + result + ", nothing to compare");
+            return;
+        }
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + baseline + " updated from " + result);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; record one with -Djmh.baseline.update=true");
+            return;
+        }
+
+        Map<String, JsonNode> previous = index(baseline);
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : index(result).entrySet()) {
+            JsonNode before = previous.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                continue;
+            }
+            double old = score(before);
+            double current = score(entry.getValue());
+            double change = old == 0 ? 0 : (current - old) / old;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), old, current, change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + Math.round(threshold * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(Path file) throws IOException
+    {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf(":") < 0 ? ":" : ",").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), run);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode run)
+    {
+        return run.path("primaryMetric").path("score").asDouble();
+    }
+}
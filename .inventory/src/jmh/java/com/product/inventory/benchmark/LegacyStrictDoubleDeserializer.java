@@ -0,0 +1,25 @@
+package com.product.inventory.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Tree-based price deserializer as it was before the token-level rewrite; kept only as a benchmark baseline.
+ */
+public class LegacyStrictDoubleDeserializer extends JsonDeserializer<Double> {
+
+    @Override
+    public Double deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonNode node = p.getCodec().readTree(p);
+
+        if (!node.isNumber()) {
+            throw ctxt.weirdNumberException(node.numberValue(), Double.class, "Price must be a number, not a string.");
+        }
+
+        return node.asDouble();
+    }
+}
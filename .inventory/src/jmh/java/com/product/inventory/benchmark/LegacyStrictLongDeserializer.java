@@ -0,0 +1,25 @@
+package com.product.inventory.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Tree-based quantity deserializer as it was before the token-level rewrite; kept only as a benchmark baseline.
+ */
+public class LegacyStrictLongDeserializer extends JsonDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonNode node = p.getCodec().readTree(p);
+
+        if (!node.isNumber()) {
+            throw ctxt.weirdNumberException(node.numberValue(), Long.class, "Quantity must be a number, not a string.");
+        }
+
+        return node.asLong();
+    }
+}
@@ -0,0 +1,92 @@
+package com.product.inventory.benchmark;
+
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.mapper.CategoryMapper;
+import com.product.inventory.mapper.CategoryMapperImpl;
+import com.product.inventory.mapper.ProductMapper;
+import com.product.inventory.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers on a single row and on a page of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+
+    private final CategoryMapper categoryMapper = new CategoryMapperImpl();
+
+    private Product product;
+
+    private ProductDTO productDTO;
+
+    private Category category;
+
+    private List<Product> page;
+
+    @Setup
+    public void setUp()
+    {
+        this.category = new Category();
+        this.category.setId(3L);
+        this.category.setNameCategory("Electronics");
+
+        this.page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Product row = new Product();
+            row.setId((long) i + 1);
+            row.setName("Product " + i);
+            row.setDescription("Description of product " + i);
+            row.setPrice(10.0 + i);
+            row.setQuantity((long) i * 3);
+            row.setVersion(i);
+            row.setCategory(this.category);
+            this.page.add(row);
+        }
+        this.product = this.page.get(0);
+        this.productDTO = this.productMapper.toDto(this.product);
+    }
+
+    @Benchmark
+    public ProductDTO productToDto()
+    {
+        return this.productMapper.toDto(this.product);
+    }
+
+    @Benchmark
+    public Product productToEntity()
+    {
+        return this.productMapper.toEntity(this.productDTO);
+    }
+
+    @Benchmark
+    public CategoryDTO categoryToDto()
+    {
+        return this.categoryMapper.toDto(this.category);
+    }
+
+    @Benchmark
+    public List<ProductDTO> pageToDto()
+    {
+        List<ProductDTO> content = new ArrayList<>(PAGE_SIZE);
+        for (Product row : this.page) {
+            content.add(this.productMapper.toDto(row));
+        }
+        return content;
+    }
+}
@@ -0,0 +1,69 @@
+package com.product.inventory.benchmark;
+
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls against the seeded H2 database, including transaction handling, query execution and mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private ProductService productService;
+
+    private long firstProductId;
+
+    private int products;
+
+    private ProductFilterDTO filter;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setUp(ApplicationState application)
+    {
+        this.productService = application.bean(ProductService.class);
+        this.firstProductId = application.firstProductId;
+        this.products = application.products;
+
+        this.filter = new ProductFilterDTO();
+        this.filter.setMinPrice(100.0);
+        this.filter.setMaxPrice(400.0);
+        this.filter.setCategoryName("category 3");
+        this.pageable = PageRequest.of(2, 20, Sort.by("price"));
+    }
+
+    @Benchmark
+    public Optional<ProductDTO> findById()
+    {
+        return this.productService.findOne(this.firstProductId + ThreadLocalRandom.current().nextInt(this.products));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> filterPage()
+    {
+        return this.productService.findAllByFilter(this.filter, this.pageable);
+    }
+
+    @Benchmark
+    public Slice<ProductDTO> filterSlice()
+    {
+        return this.productService.findSliceByFilter(this.filter, this.pageable);
+    }
+}
@@ -0,0 +1,86 @@
+package com.product.inventory.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson reading and writing of product DTOs with the object mapper defaults Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter productWriter;
+
+    private ObjectWriter pageWriter;
+
+    private ObjectReader productReader;
+
+    private ProductDTO product;
+
+    private List<ProductDTO> page;
+
+    private byte[] productJson;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.productWriter = objectMapper.writerFor(ProductDTO.class);
+        this.pageWriter = objectMapper.writerFor(new TypeReference<List<ProductDTO>>() {
+        });
+        this.productReader = objectMapper.readerFor(ProductDTO.class);
+
+        CategoryDTO category = new CategoryDTO();
+        category.setId(3L);
+        category.setNameCategory("Electronics");
+        this.page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ProductDTO row = new ProductDTO();
+            row.setId((long) i + 1);
+            row.setName("Product " + i);
+            row.setDescription("Description of product " + i);
+            row.setPrice(10.0 + i);
+            row.setQuantity((long) i * 3);
+            row.setCategory(category);
+            this.page.add(row);
+        }
+        this.product = this.page.get(0);
+        this.productJson = this.productWriter.writeValueAsBytes(this.product);
+    }
+
+    @Benchmark
+    public byte[] writeProduct() throws IOException
+    {
+        return this.productWriter.writeValueAsBytes(this.product);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException
+    {
+        return this.pageWriter.writeValueAsBytes(this.page);
+    }
+
+    @Benchmark
+    public ProductDTO readProduct() throws IOException
+    {
+        return this.productReader.readValue(this.productJson);
+    }
+}
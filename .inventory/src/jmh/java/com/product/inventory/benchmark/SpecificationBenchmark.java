@@ -0,0 +1,79 @@
+package com.product.inventory.benchmark;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.repository.specification.ProductSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns {@link ProductSpecification#filterByCriteria} into an executable JPA query without running it: building
+ * the predicate tree and Hibernate's criteria-to-SQL translation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private EntityManager entityManager;
+
+    private ProductFilterDTO fullFilter;
+
+    private ProductFilterDTO priceFilter;
+
+    @Setup
+    public void setUp(ApplicationState application)
+    {
+        this.entityManager = application.bean(EntityManagerFactory.class).createEntityManager();
+
+        this.fullFilter = new ProductFilterDTO();
+        this.fullFilter.setName("product");
+        this.fullFilter.setDescription("description");
+        this.fullFilter.setMinPrice(10.0);
+        this.fullFilter.setMaxPrice(500.0);
+        this.fullFilter.setMinQuantity(1L);
+        this.fullFilter.setMaxQuantity(200L);
+        this.fullFilter.setCategoryName("category");
+
+        this.priceFilter = new ProductFilterDTO();
+        this.priceFilter.setMinPrice(10.0);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.entityManager.close();
+    }
+
+    @Benchmark
+    public TypedQuery<Product> allCriteria()
+    {
+        return this.toQuery(ProductSpecification.filterByCriteria(this.fullFilter));
+    }
+
+    @Benchmark
+    public TypedQuery<Product> priceOnly()
+    {
+        return this.toQuery(ProductSpecification.filterByCriteria(this.priceFilter));
+    }
+
+    private TypedQuery<Product> toQuery(Specification<Product> specification)
+    {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        return this.entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,78 @@
+package com.product.inventory.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.product.inventory.domain.dto.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a bulk import payload with the token-level strict deserializers declared on {@link ProductDTO}
+ * and with the former tree-based ones. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrictDeserializerBenchmark {
+
+    private static final TypeReference<List<ProductDTO>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000"})
+    private int rows;
+
+    private byte[] payload;
+
+    private ObjectReader tokenReader;
+
+    private ObjectReader treeReader;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < this.rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Product ").append(i)
+                    .append("\",\"description\":\"Description of product ").append(i)
+                    .append("\",\"price\":").append(10 + i % 90).append('.').append(i % 100)
+                    .append(",\"quantity\":").append(i % 500)
+                    .append(",\"category\":{\"id\":").append(1 + i % 10).append("}}");
+        }
+        this.payload = json.append(']').toString().getBytes();
+
+        this.tokenReader = new ObjectMapper().readerFor(PRODUCT_LIST);
+        this.treeReader = new ObjectMapper().addMixIn(ProductDTO.class, LegacyProductMixIn.class).readerFor(PRODUCT_LIST);
+    }
+
+    @Benchmark
+    public List<ProductDTO> tokenLevel() throws IOException
+    {
+        return this.tokenReader.readValue(this.payload);
+    }
+
+    @Benchmark
+    public List<ProductDTO> treeBased() throws IOException
+    {
+        return this.treeReader.readValue(this.payload);
+    }
+
+    abstract static class LegacyProductMixIn {
+
+        @JsonDeserialize(using = LegacyStrictDoubleDeserializer.class)
+        private Double price;
+
+        @JsonDeserialize(using = LegacyStrictLongDeserializer.class)
+        private Long quantity;
+    }
+}
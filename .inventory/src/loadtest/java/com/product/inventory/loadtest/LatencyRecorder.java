@@ -0,0 +1,92 @@
+package com.product.inventory.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies and outcomes of one operation. Latencies are measured from the intended send time, so a
+ * stalled server shows up in the percentiles instead of silently lowering the request rate.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private long success;
+
+    private long clientErrors;
+
+    private long conflicts;
+
+    private long serverErrors;
+
+    private long failures;
+
+    private long skipped;
+
+    synchronized void record(long latencyNanos, int status)
+    {
+        this.append(latencyNanos);
+        if (status >= 200 && status < 400) {
+            this.success++;
+        } else if (status == 409 || status == 412) {
+            this.conflicts++;
+        } else if (status < 500) {
+            this.clientErrors++;
+        } else {
+            this.serverErrors++;
+        }
+    }
+
+    synchronized void recordFailure(long latencyNanos)
+    {
+        this.append(latencyNanos);
+        this.failures++;
+    }
+
+    synchronized void recordSkipped()
+    {
+        this.skipped++;
+    }
+
+    synchronized void reset()
+    {
+        this.count = 0;
+        this.success = 0;
+        this.clientErrors = 0;
+        this.conflicts = 0;
+        this.serverErrors = 0;
+        this.failures = 0;
+        this.skipped = 0;
+    }
+
+    synchronized Summary summarize(double seconds)
+    {
+        long[] sorted = Arrays.copyOf(this.latencies, this.count);
+        Arrays.sort(sorted);
+        return new Summary(this.count, this.success, this.clientErrors, this.conflicts, this.serverErrors, this.failures, this.skipped,
+                this.count / seconds, millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private void append(long latencyNanos)
+    {
+        if (this.count == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+        }
+        this.latencies[this.count++] = latencyNanos;
+    }
+
+    private static double millis(long[] sorted, double quantile)
+    {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    record Summary(long requests, long success, long clientErrors, long conflicts, long serverErrors, long failures, long skipped,
+                   double throughput, double p50, double p99, double p999, double max) {
+    }
+}
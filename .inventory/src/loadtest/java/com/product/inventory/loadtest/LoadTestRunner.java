@@ -0,0 +1,316 @@
+package com.product.inventory.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.product.inventory.Application;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.ProductImportService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boots the application on a random port with a seeded in-memory database and drives a weighted mix of endpoints
+ * at a fixed arrival rate (open model: requests are sent on schedule whether or not earlier ones completed).
+ * Prints throughput and p50/p99/p999 latency per endpoint and writes them as JSON.
+ * <p>
+ * Options ({@code --name=value}): {@code rate} requests per second (200), {@code duration} and {@code warmup}
+ * ISO-8601 or seconds (60s / 10s), {@code products} (10000), {@code categories} (20), {@code max-in-flight} (2000),
+ * {@code mix} weights ({@code list:30,filter:20,get:30,create:5,update:8,delete:2,category:5}),
+ * {@code report} output file ({@code target/loadtest-report.json}).
+ */
+public final class LoadTestRunner {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private LoadTestRunner()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = parse(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration duration = duration(options.getOrDefault("duration", "60"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10"));
+        int products = Integer.parseInt(options.getOrDefault("products", "10000"));
+        int categories = Integer.parseInt(options.getOrDefault("categories", "20"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        Map<Operation, Integer> mix = mix(options.getOrDefault("mix", "list:30,filter:20,get:30,create:5,update:8,delete:2,category:5"));
+        Path report = Path.of(options.getOrDefault("report", "target/loadtest-report.json"));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.com.product.inventory=WARN")
+                .run()) {
+            Target target = seed(context, products, categories);
+            System.out.printf("Seeded %d products in %d categories, server at %s%n", target.productIds.length, target.categoryIds.length, target.baseUrl);
+
+            Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+            for (Operation operation : mix.keySet()) {
+                recorders.put(operation, new LatencyRecorder());
+            }
+            Semaphore inFlight = new Semaphore(maxInFlight);
+
+            System.out.printf("Warming up for %ds at %d req/s%n", warmup.toSeconds(), rate);
+            drive(target, mix, recorders, inFlight, rate, warmup);
+            recorders.values().forEach(LatencyRecorder::reset);
+
+            System.out.printf("Measuring for %ds at %d req/s%n", duration.toSeconds(), rate);
+            long started = System.nanoTime();
+            long dropped = drive(target, mix, recorders, inFlight, rate, duration);
+            inFlight.acquire(maxInFlight);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            System.out.printf("%n%-10s %9s %9s %9s %9s %9s %10s %10s %10s %10s %10s%n",
+                    "endpoint", "requests", "ok", "conflict", "4xx", "5xx/fail", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+            for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+                LatencyRecorder.Summary summary = entry.getValue().summarize(seconds);
+                results.put(entry.getKey().key(), summary);
+                System.out.printf("%-10s %9d %9d %9d %9d %9d %10.1f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey().key(),
+                        summary.requests(), summary.success(), summary.conflicts(), summary.clientErrors(), summary.serverErrors() + summary.failures(),
+                        summary.throughput(), summary.p50(), summary.p99(), summary.p999(), summary.max());
+            }
+            if (dropped > 0) {
+                System.out.printf("%d requests were not sent because %d were already in flight%n", dropped, maxInFlight);
+            }
+
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("rate", rate);
+            document.put("durationSeconds", seconds);
+            document.put("products", products);
+            document.put("dropped", dropped);
+            document.put("endpoints", results);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), document);
+            System.out.println("Report written to " + report);
+        }
+    }
+
+    /**
+     * Sends requests on a fixed schedule for the given time; returns the number of requests dropped because the
+     * in-flight limit was reached.
+     */
+    private static long drive(Target target, Map<Operation, Integer> mix, Map<Operation, LatencyRecorder> recorders,
+                              Semaphore inFlight, int rate, Duration duration)
+    {
+        Operation[] wheel = wheel(mix);
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long dropped = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                return dropped;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            LatencyRecorder recorder = recorders.get(operation);
+            HttpRequest request = operation.request(target);
+            if (request == null) {
+                recorder.recordSkipped();
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                continue;
+            }
+            target.client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - intended;
+                if (failure != null) {
+                    recorder.recordFailure(latency);
+                } else {
+                    recorder.record(latency, response.statusCode());
+                    if (operation == Operation.CREATE && response.statusCode() == 201) {
+                        target.created(response.body());
+                    }
+                }
+                inFlight.release();
+            });
+        }
+    }
+
+    private static Target seed(ConfigurableApplicationContext context, int products, int categories) throws IOException
+    {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        long[] categoryIds = new long[categories];
+        List<CategoryDTO> categoryDTOs = new ArrayList<>();
+        for (int c = 0; c < categories; c++) {
+            CategoryDTO categoryDTO = new CategoryDTO();
+            categoryDTO.setNameCategory("Category " + c);
+            categoryDTO = categoryService.save(categoryDTO);
+            categoryIds[c] = categoryDTO.getId();
+            categoryDTOs.add(categoryDTO);
+        }
+
+        List<ProductDTO> rows = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            ProductDTO productDTO = new ProductDTO();
+            productDTO.setName("Product " + i);
+            productDTO.setDescription("Seeded product number " + i);
+            productDTO.setPrice(1.0 + i % 1000);
+            productDTO.setQuantity((long) (i % 250));
+            productDTO.setCategory(categoryDTOs.get(i % categories));
+            rows.add(productDTO);
+        }
+        context.getBean(ProductImportService.class).importProducts(rows);
+
+        List<Long> productIds = new ArrayList<>(products);
+        context.getBean(ProductRepository.class).scanAll(1000, batch -> batch.forEach(product -> productIds.add(product.getId())));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return new Target("http://localhost:" + port, productIds.stream().mapToLong(Long::longValue).toArray(), categoryIds);
+    }
+
+    private static Operation[] wheel(Map<Operation, Integer> mix)
+    {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return wheel.toArray(new Operation[0]);
+    }
+
+    private static Map<Operation, Integer> mix(String value)
+    {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Duration duration(String value)
+    {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            return Duration.parse(trimmed.toUpperCase(Locale.ROOT));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed.endsWith("s") ? trimmed.substring(0, trimmed.length() - 1) : trimmed));
+    }
+
+    private static Map<String, String> parse(String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * The running application and the ids the operations pick from.
+     */
+    static final class Target {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        private final String baseUrl;
+
+        private final long[] productIds;
+
+        private final long[] categoryIds;
+
+        private final Queue<Long> createdProductIds = new ConcurrentLinkedQueue<>();
+
+        Target(String baseUrl, long[] productIds, long[] categoryIds)
+        {
+            this.baseUrl = baseUrl;
+            this.productIds = productIds;
+            this.categoryIds = categoryIds;
+        }
+
+        String baseUrl()
+        {
+            return this.baseUrl;
+        }
+
+        int productCount()
+        {
+            return this.productIds.length;
+        }
+
+        int categoryCount()
+        {
+            return this.categoryIds.length;
+        }
+
+        long randomProductId()
+        {
+            return this.productIds[ThreadLocalRandom.current().nextInt(this.productIds.length)];
+        }
+
+        long randomCategoryId()
+        {
+            return this.categoryIds[ThreadLocalRandom.current().nextInt(this.categoryIds.length)];
+        }
+
+        Long takeCreatedProductId()
+        {
+            return this.createdProductIds.poll();
+        }
+
+        HttpRequest get(String path)
+        {
+            return HttpRequest.newBuilder(URI.create(this.baseUrl + path)).GET().build();
+        }
+
+        HttpRequest send(String method, String path, String json)
+        {
+            return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        void created(String body)
+        {
+            Matcher matcher = ID.matcher(body);
+            if (matcher.find()) {
+                this.createdProductIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+    }
+}
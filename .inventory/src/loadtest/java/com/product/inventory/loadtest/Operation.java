@@ -0,0 +1,88 @@
+package com.product.inventory.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Endpoints in the load mix. Each operation builds its request from the ids seeded or created during the run;
+ * {@code null} means the operation has nothing to act on right now and is skipped.
+ */
+enum Operation {
+
+    LIST {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            int page = ThreadLocalRandom.current().nextInt(Math.max(1, target.productCount() / 20));
+            return target.get("/api/products?page=" + page + "&size=20&sort=id");
+        }
+    },
+    FILTER {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int minPrice = random.nextInt(900);
+            return target.get("/api/products/filter?minPrice=" + minPrice + "&maxPrice=" + (minPrice + 100)
+                    + "&categoryName=category%20" + random.nextInt(target.categoryCount()) + "&page=" + random.nextInt(5) + "&size=20&sort=price");
+        }
+    },
+    GET {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            return target.get("/api/products/" + target.randomProductId());
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            return target.send("POST", "/api/products", productJson(null, target.randomCategoryId()));
+        }
+    },
+    UPDATE {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            long id = target.randomProductId();
+            return target.send("PUT", "/api/products/" + id, productJson(id, target.randomCategoryId()));
+        }
+    },
+    DELETE {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            Long id = target.takeCreatedProductId();
+            return id == null ? null : HttpRequest.newBuilder(URI.create(target.baseUrl() + "/api/products/" + id)).DELETE().build();
+        }
+    },
+    CATEGORY {
+        @Override
+        HttpRequest request(LoadTestRunner.Target target)
+        {
+            return ThreadLocalRandom.current().nextBoolean()
+                    ? target.get("/api/category/" + target.randomCategoryId())
+                    : target.get("/api/category?page=0&size=20");
+        }
+    };
+
+    abstract HttpRequest request(LoadTestRunner.Target target);
+
+    String key()
+    {
+        return this.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String productJson(Long id, long categoryId)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = random.nextInt(1_000_000);
+        return "{" + (id != null ? "\"id\":" + id + "," : "")
+                + "\"name\":\"Load test product " + n + "\",\"description\":\"Written by the load test\","
+                + "\"price\":" + (1 + random.nextInt(999)) + ".5,\"quantity\":" + random.nextInt(250)
+                + ",\"category\":{\"id\":" + categoryId + "}}";
+    }
+}
@@ -0,0 +1,11 @@
+package com.product.inventory.concurrency;
+
+/**
+ * Thrown when no database permit became free within the configured wait.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
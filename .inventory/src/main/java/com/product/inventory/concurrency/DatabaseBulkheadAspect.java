@@ -0,0 +1,86 @@
+package com.product.inventory.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many threads can be inside service methods marked {@link UsesDatabase} at once, so the number of
+ * requests competing for a connection never exceeds the pool. Meant for virtual-thread mode, where request
+ * concurrency is no longer capped by the Tomcat worker pool: waiting happens on a cheap semaphore instead of in the
+ * pool, and callers that wait longer than {@code inventory.bulkhead.max-wait} get a 503.
+ * <p>
+ * Only the outermost marked call of a thread takes a permit, so nested service calls cannot deadlock on the
+ * bulkhead. Runs outside the transaction interceptor, i.e. before a connection is taken. The permit only bounds the
+ * connections if every database access goes through a marked service method and the connection is returned when
+ * that call ends: controllers must not call repositories, and {@code spring.jpa.open-in-view} must be off, otherwise
+ * the request keeps its connection until the response is written.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "inventory.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadAspect {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseBulkheadAspect.class);
+
+    private final Semaphore permits;
+
+    private final long maxWaitNanos;
+
+    private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Counter rejected;
+
+    public DatabaseBulkheadAspect(@Value("${inventory.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                  @Value("${inventory.bulkhead.max-wait:PT1S}") Duration maxWait,
+                                  MeterRegistry meterRegistry)
+    {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("inventory.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Free database bulkhead permits")
+                .register(meterRegistry);
+        Gauge.builder("inventory.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database bulkhead permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("inventory.bulkhead.rejected")
+                .description("Calls rejected because no permit became free in time")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(com.product.inventory.concurrency.UsesDatabase)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable
+    {
+        if (this.holding.get()) {
+            return joinPoint.proceed();
+        }
+
+        if (!this.permits.tryAcquire(this.maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            this.rejected.increment();
+            LOG.debug("Database bulkhead full, rejecting {}", joinPoint.getSignature().toShortString());
+            throw new BulkheadFullException("Too many concurrent database requests, retry later");
+        }
+        this.holding.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            this.holding.set(Boolean.FALSE);
+            this.permits.release();
+        }
+    }
+}
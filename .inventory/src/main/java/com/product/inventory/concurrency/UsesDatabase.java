@@ -0,0 +1,17 @@
+package com.product.inventory.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that takes a database connection, so {@link DatabaseBulkheadAspect} makes it wait for a
+ * permit. Methods served from memory, such as cache statistics, stay unmarked and are never held up by the bulkhead.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UsesDatabase {
+}
@@ -1,7 +1,9 @@
 package com.product.inventory.controller;
 
+import com.product.inventory.domain.dto.CacheStatsDTO;
 import com.product.inventory.domain.dto.CategoryDTO;
-import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.domain.dto.CategoryInventoryDTO;
+import com.product.inventory.service.CategoryInventoryService;
 import com.product.inventory.service.CategoryService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -25,12 +29,12 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryInventoryService categoryInventoryService;
 
-    public CategoryController(CategoryService categoryService, CategoryRepository categoryRepository)
+    public CategoryController(CategoryService categoryService, CategoryInventoryService categoryInventoryService)
     {
         this.categoryService = categoryService;
-        this.categoryRepository = categoryRepository;
+        this.categoryInventoryService = categoryInventoryService;
     }
 
 
@@ -80,7 +84,7 @@ public class CategoryController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ID");
         }
 
-        if (!this.categoryRepository.existsById(id))
+        if (!this.categoryService.exists(id))
         {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"Entity not found: id not found");
         }
@@ -97,4 +101,32 @@ public class CategoryController {
         return  ResponseEntity.noContent().build();
     }
 
+    @GetMapping(value = "/cache-stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatsDTO> getCacheStats()
+    {
+        LOG.debug("REST request to get Category cache statistics");
+        return ResponseEntity.ok().body(this.categoryService.getCacheStats());
+    }
+
+    @GetMapping(value = "/inventory", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CategoryInventoryDTO>> getInventories()
+    {
+        LOG.debug("REST request to get the inventory of all Categories");
+        return ResponseEntity.ok().body(this.categoryInventoryService.findAll());
+    }
+
+    @GetMapping(value = "/{id}/inventory", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CategoryInventoryDTO> getInventory(@PathVariable("id") Long id)
+    {
+        LOG.debug("REST request to get the inventory of Category : {}", id);
+        return this.categoryInventoryService.findOne(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(value = "/inventory/reconcile", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> reconcileInventories()
+    {
+        LOG.debug("REST request to reconcile the Category inventories");
+        return ResponseEntity.ok().body(Map.of("corrected", this.categoryInventoryService.reconcile()));
+    }
+
 }
@@ -0,0 +1,71 @@
+package com.product.inventory.controller;
+
+import com.product.inventory.domain.dto.ChangeBatchDTO;
+import com.product.inventory.event.ChangeFeed;
+import com.product.inventory.event.ChangeStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeController.class);
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeFeed changeFeed;
+
+    private final ChangeStream changeStream;
+
+    public ChangeController(ChangeFeed changeFeed, ChangeStream changeStream)
+    {
+        this.changeFeed = changeFeed;
+        this.changeStream = changeStream;
+    }
+
+    @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(value = "since", required = false) Long since,
+                             @RequestParam(value = "epoch", required = false) String epoch,
+                             @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId)
+    {
+        LOG.debug("REST request to stream changes since : {}", lastEventId != null ? lastEventId : since);
+        if (lastEventId != null)
+        {
+            // event ids are epoch:sequence
+            String id = lastEventId.trim();
+            int separator = id.lastIndexOf(':');
+            epoch = separator >= 0 ? id.substring(0, separator) : null;
+            try
+            {
+                since = Long.parseLong(id.substring(separator + 1));
+            }
+            catch (NumberFormatException e)
+            {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + LAST_EVENT_ID + ": " + lastEventId);
+            }
+        }
+        return this.changeStream.subscribe(epoch, since);
+    }
+
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ChangeBatchDTO> poll(@RequestParam(value = "since", defaultValue = "0") long since,
+                                               @RequestParam(value = "epoch", required = false) String epoch,
+                                               @RequestParam(value = "limit", defaultValue = "500") int limit)
+    {
+        LOG.debug("REST request to get changes since : {}", since);
+        if (limit < 1 || limit > MAX_LIMIT)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok().body(this.changeFeed.read(epoch, since, limit));
+    }
+}
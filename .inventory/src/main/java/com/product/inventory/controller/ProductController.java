@@ -1,10 +1,20 @@
 package com.product.inventory.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.CursorPageDTO;
+import com.product.inventory.domain.dto.FilterIndexAdviceDTO;
+import com.product.inventory.domain.dto.ImportResultDTO;
+import com.product.inventory.domain.dto.ProductBatchDTO;
 import com.product.inventory.domain.dto.ProductDTO;
 import com.product.inventory.domain.dto.ProductFilterDTO;
-import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.domain.dto.StockAdjustmentDTO;
+import com.product.inventory.domain.dto.StockLevelDTO;
 import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductCursor;
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.ProductExportService;
+import com.product.inventory.service.ProductImportService;
 import com.product.inventory.service.ProductService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,14 +22,23 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -31,17 +50,24 @@ public class ProductController {
 
     private static final String ENTITY_NAME = "product";
 
+    private static final int MAX_BATCH_IDS = 500;
+
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final ProductService productService;
 
-    private final ProductRepository productRepository;
+    private final CategoryService categoryService;
 
-    private final CategoryRepository categoryRepository;
+    private final ProductImportService productImportService;
 
-    public ProductController(ProductService productService, ProductRepository productRepository, CategoryRepository categoryRepository)
+    private final ProductExportService productExportService;
+
+    public ProductController(ProductService productService, CategoryService categoryService, ProductImportService productImportService, ProductExportService productExportService)
     {
         this.productService = productService;
-        this.productRepository = productRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
     }
 
     @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -54,7 +80,7 @@ public class ProductController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "New " + ENTITY_NAME + " cannot have an ID");
         }
 
-        if(productDTO.getCategory() != null && productDTO.getCategory().getId() != null && !this.categoryRepository.existsById(productDTO.getCategory().getId()))
+        if(productDTO.getCategory() != null && productDTO.getCategory().getId() != null && !this.categoryService.exists(productDTO.getCategory().getId()))
         {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There is no category with this id " + productDTO.getCategory().getId().toString());
         }
@@ -64,25 +90,74 @@ public class ProductController {
         return new ResponseEntity<>(productDTO, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResultDTO> importProducts(@RequestBody List<ProductDTO> productDTOs)
+    {
+        LOG.debug("REST request to import {} Products", productDTOs.size());
+        ImportResultDTO result = this.productImportService.importProducts(productDTOs);
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResultDTO> importProductsNdjson(Reader reader) throws IOException
+    {
+        LOG.debug("REST request to import Products from NDJSON");
+        ImportResultDTO result = this.productImportService.importNdjson(reader);
+        return ResponseEntity.ok().body(result);
+    }
+
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Page<ProductDTO>> getAllProducts(@ParameterObject Pageable pageable)
+    public ResponseEntity<Slice<ProductDTO>> getAllProducts(@ParameterObject Pageable pageable, @RequestParam(value = "count", defaultValue = "true") boolean count)
     {
         LOG.debug("REST request to get a page of Products");
+        if (!count)
+        {
+            return ResponseEntity.ok().body(this.productService.findSliceByFilter(new ProductFilterDTO(), pageable));
+        }
         Page<ProductDTO> productDTOPage = this.productService.findAll(pageable);
-        return ResponseEntity.ok().body(productDTOPage);
+        return ResponseEntity.ok().eTag(listETag(productDTOPage)).body(productDTOPage);
+    }
+
+    @GetMapping(value = "", params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductBatchDTO> getByIds(@RequestParam("ids") List<Long> ids)
+    {
+        LOG.debug("REST request to get Products by ids {}", ids);
+        return ResponseEntity.ok().body(this.findBatch(ids));
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductBatchDTO> getByIdsInBody(@RequestBody List<Long> ids)
+    {
+        LOG.debug("REST request to get Products by ids {}", ids);
+        return ResponseEntity.ok().body(this.findBatch(ids));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ProductDTO> getById(@PathVariable("id") Long id)
+    public ResponseEntity<ProductDTO> getById(@PathVariable("id") Long id, WebRequest webRequest)
     {
         LOG.debug("GET request to get Product by id {}", id);
 
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null)
+        {
+            Optional<ProductRepository.VersionSnapshot> version = this.productService.findVersion(id);
+            if (version.isEmpty())
+            {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = etag(id, version.get().getVersion(), version.get().getCategoryName());
+            if (webRequest.checkNotModified(etag))
+            {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         Optional<ProductDTO> productDTOOptional = this.productService.findOne(id);
-        return productDTOOptional.map(productDTO -> new ResponseEntity<>(productDTO, HttpStatus.OK)).orElse(ResponseEntity.notFound().build());
+        return productDTOOptional.map(productDTO -> withETag(ResponseEntity.ok(), productDTO).body(productDTO)).orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ProductDTO> updateProduct(@PathVariable(value = "id", required = false) final Long id, @RequestBody ProductDTO productDTO)
+    public ResponseEntity<ProductDTO> updateProduct(@PathVariable(value = "id", required = false) final Long id, @RequestBody ProductDTO productDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
         LOG.debug("REST request to update Product : {}, {}", id, productDTO);
         if(productDTO.getId() == null)
@@ -95,19 +170,56 @@ public class ProductController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ID");
         }
 
-        if (!this.productRepository.existsById(id))
+        if(productDTO.getCategory() != null && productDTO.getCategory().getId() != null && !this.categoryService.exists(productDTO.getCategory().getId()))
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There is no category with this id " + productDTO.getCategory().getId().toString());
+        }
+
+        productDTO.setVersion(expectedVersion(id, ifMatch));
+        Optional<ProductDTO> result;
+        try {
+            result = this.productService.update(productDTO);
+        } catch (OptimisticLockingFailureException e) {
+            throw preconditionFailedOr(e, id, ifMatch);
+        }
+        if (result.isEmpty())
         {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"Entity not found: id not found");
         }
+        return withETag(ResponseEntity.ok(), result.get()).body(result.get());
+    }
 
-        if(productDTO.getCategory() != null && productDTO.getCategory().getId() != null && !this.categoryRepository.existsById(productDTO.getCategory().getId()))
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductDTO> patchProduct(@PathVariable("id") Long id, @RequestBody JsonNode mergePatch,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IOException
+    {
+        LOG.debug("REST request to partially update Product : {}, {}", id, mergePatch);
+        if (!mergePatch.isObject())
         {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There is no category with this id " + productDTO.getCategory().getId().toString());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Merge patch must be a JSON object");
         }
 
-        productDTO = this.productService.update(productDTO);
-        return ResponseEntity.ok().body(productDTO);
+        JsonNode patchedId = mergePatch.get("id");
+        if (patchedId != null && !(patchedId.canConvertToLong() && patchedId.asLong() == id))
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ID");
+        }
+
+        JsonNode categoryId = mergePatch.path("category").path("id");
+        if (categoryId.canConvertToLong() && !this.categoryService.exists(categoryId.asLong()))
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There is no category with this id " + categoryId.asLong());
+        }
+
+        Optional<ProductDTO> result;
+        try {
+            result = this.productService.partialUpdate(id, mergePatch, expectedVersion(id, ifMatch));
+        } catch (OptimisticLockingFailureException e) {
+            throw preconditionFailedOr(e, id, ifMatch);
+        }
+        return result.map(productDTO -> withETag(ResponseEntity.ok(), productDTO).body(productDTO)).orElse(ResponseEntity.notFound().build());
     }
+
     @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Void> deleteProduct(@PathVariable("id") Long id)
     {
@@ -116,8 +228,25 @@ public class ProductController {
         return  ResponseEntity.noContent().build();
     }
 
+    @PostMapping(value = "/{id}/stock", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StockLevelDTO> adjustStock(@PathVariable("id") Long id, @Valid @RequestBody StockAdjustmentDTO stockAdjustmentDTO)
+    {
+        LOG.debug("REST request to adjust stock of Product : {}, {}", id, stockAdjustmentDTO);
+        Optional<StockLevelDTO> stockLevel = this.productService.adjustStock(id, stockAdjustmentDTO.getDelta());
+        if (stockLevel.isPresent())
+        {
+            return ResponseEntity.ok().body(stockLevel.get());
+        }
+
+        if (!this.productService.exists(id))
+        {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity not found: id not found");
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for " + ENTITY_NAME + " " + id);
+    }
+
     @GetMapping(value = "/filter" , produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Page<ProductDTO>> findAllByFilter(@ParameterObject ProductFilterDTO productFilterDTO, @ParameterObject Pageable pageable)
+    public ResponseEntity<Slice<ProductDTO>> findAllByFilter(@ParameterObject ProductFilterDTO productFilterDTO, @ParameterObject Pageable pageable, @RequestParam(value = "count", defaultValue = "true") boolean count)
     {
         LOG.debug("REST request to get Product by filter");
         if(pageable == null)
@@ -125,7 +254,147 @@ public class ProductController {
             Sort sort = Sort.by(Sort.Direction.ASC, "id");
             pageable = PageRequest.of(0,10,sort);
         }
+        if (!count)
+        {
+            return ResponseEntity.ok().body(this.productService.findSliceByFilter(productFilterDTO, pageable));
+        }
         Page<ProductDTO> productDTOPage = this.productService.findAllByFilter(productFilterDTO, pageable);
+        return ResponseEntity.ok().eTag(listETag(productDTOPage)).body(productDTOPage);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@ParameterObject ProductFilterDTO productFilterDTO, @RequestParam(value = "format", defaultValue = "ndjson") String format)
+    {
+        LOG.debug("REST request to export Products as {}", format);
+        ProductExportService.Format exportFormat;
+        try {
+            exportFormat = ProductExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format " + format);
+        }
+
+        MediaType mediaType = exportFormat == ProductExportService.Format.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = outputStream -> this.productExportService.export(productFilterDTO, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products." + exportFormat.name().toLowerCase(Locale.ROOT))
+                .body(body);
+    }
+
+    @GetMapping(value = "/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageDTO<ProductDTO>> getAllProductsByCursor(@RequestParam(value = "cursor", required = false) String cursor, @ParameterObject Pageable pageable)
+    {
+        LOG.debug("REST request to get Products after cursor : {}", cursor);
+        CursorPageDTO<ProductDTO> productDTOPage = this.productService.findAllByCursor(new ProductFilterDTO(), this.resolveCursor(cursor, pageable), pageable.getPageSize());
         return ResponseEntity.ok().body(productDTOPage);
     }
+
+    @GetMapping(value = "/filter/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByFilterAndCursor(@ParameterObject ProductFilterDTO productFilterDTO, @RequestParam(value = "cursor", required = false) String cursor, @ParameterObject Pageable pageable)
+    {
+        LOG.debug("REST request to get Product by filter after cursor : {}", cursor);
+        CursorPageDTO<ProductDTO> productDTOPage = this.productService.findAllByCursor(productFilterDTO, this.resolveCursor(cursor, pageable), pageable.getPageSize());
+        return ResponseEntity.ok().body(productDTOPage);
+    }
+
+    @GetMapping(value = "/filter/index-advice", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<FilterIndexAdviceDTO>> getFilterIndexAdvice()
+    {
+        LOG.debug("REST request to get filter index advice");
+        return ResponseEntity.ok().body(this.productService.getFilterIndexAdvice());
+    }
+
+    private ProductCursor resolveCursor(String cursor, Pageable pageable)
+    {
+        try {
+            return cursor == null ? ProductCursor.first(pageable.getSort()) : ProductCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ProductBatchDTO findBatch(List<Long> ids)
+    {
+        if (ids == null || ids.isEmpty() || ids.contains(null))
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ids must be a non-empty list of product ids");
+        }
+        if (ids.size() > MAX_BATCH_IDS)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " ids are allowed per request");
+        }
+        return this.productService.findAllByIds(ids);
+    }
+
+    /**
+     * Strong ETag of a single product, derived from its id and entity version plus a hash of the embedded category
+     * name, which can change without bumping the product version: {@code "id-version"} or
+     * {@code "id-version-hash"}.
+     */
+    private static String etag(Long id, Integer version, String categoryName)
+    {
+        String tag = id + "-" + version;
+        return "\"" + (categoryName != null ? tag + "-" + Integer.toHexString(categoryName.hashCode()) : tag) + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, ProductDTO productDTO)
+    {
+        if (productDTO.getVersion() == null)
+        {
+            return builder;
+        }
+        String categoryName = productDTO.getCategory() != null ? productDTO.getCategory().getNameCategory() : null;
+        return builder.eTag(etag(productDTO.getId(), productDTO.getVersion(), categoryName));
+    }
+
+    /**
+     * Version the client expects from its If-Match header, {@code null} when there is no precondition. Only strong
+     * tags of this product are accepted; anything else can never match and fails with 412. The category name hash is
+     * ignored, since a rename of the category does not conflict with a write to the product.
+     */
+    private static Integer expectedVersion(Long id, String ifMatch)
+    {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+        {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        String tag = ifMatch.trim();
+        if (tag.indexOf(',') < 0 && tag.startsWith(prefix) && tag.endsWith("\""))
+        {
+            try {
+                String version = tag.substring(prefix.length(), tag.length() - 1);
+                int separator = version.indexOf('-');
+                return Integer.valueOf(separator >= 0 ? version.substring(0, separator) : version);
+            } catch (NumberFormatException e) {
+                // falls through to 412
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Product " + id + " was modified, reload it and retry");
+    }
+
+    private static RuntimeException preconditionFailedOr(OptimisticLockingFailureException e, Long id, String ifMatch)
+    {
+        if (ifMatch == null)
+        {
+            return e;
+        }
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Product " + id + " was modified, reload it and retry");
+    }
+
+    /**
+     * Weak ETag of a page: a hash over the page position, the total and the content of every row. A matching
+     * If-None-Match skips serialization of the page.
+     */
+    private static String listETag(Page<ProductDTO> page)
+    {
+        long hash = Objects.hash(page.getNumber(), page.getSize(), page.getTotalElements());
+        for (ProductDTO productDTO : page.getContent())
+        {
+            CategoryDTO category = productDTO.getCategory();
+            hash = 31 * hash + Objects.hash(productDTO.getId(), productDTO.getVersion(), productDTO.getName(), productDTO.getDescription(),
+                    productDTO.getPrice(), productDTO.getQuantity(), category != null ? category.getId() : null, category != null ? category.getNameCategory() : null);
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
 }
@@ -0,0 +1,73 @@
+package com.product.inventory.controller;
+
+import com.product.inventory.domain.dto.ReservationDTO;
+import com.product.inventory.domain.dto.ReservationRequestDTO;
+import com.product.inventory.service.ProductService;
+import com.product.inventory.service.StockReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import jakarta.validation.Valid;
+
+import java.net.URI;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationController.class);
+
+    private final StockReservationService stockReservationService;
+
+    private final ProductService productService;
+
+    public ReservationController(StockReservationService stockReservationService, ProductService productService)
+    {
+        this.stockReservationService = stockReservationService;
+        this.productService = productService;
+    }
+
+    @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReservationDTO> reserve(@Valid @RequestBody ReservationRequestDTO reservationRequestDTO)
+    {
+        LOG.debug("REST request to reserve stock : {}", reservationRequestDTO);
+        Optional<ReservationDTO> reservation = this.stockReservationService.reserve(reservationRequestDTO.getProductId(), reservationRequestDTO.getQuantity());
+        if (reservation.isPresent())
+        {
+            return ResponseEntity.created(URI.create("/api/reservations/" + reservation.get().getId())).body(reservation.get());
+        }
+
+        if (!this.productService.exists(reservationRequestDTO.getProductId()))
+        {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity not found: id not found");
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for product " + reservationRequestDTO.getProductId());
+    }
+
+    @PostMapping(value = "/{id}/commit")
+    public ResponseEntity<Void> commit(@PathVariable("id") String id)
+    {
+        LOG.debug("REST request to commit Reservation : {}", id);
+        if (!this.stockReservationService.commit(id))
+        {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found, expired or no longer fulfillable: " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public ResponseEntity<Void> release(@PathVariable("id") String id)
+    {
+        LOG.debug("REST request to release Reservation : {}", id);
+        if (!this.stockReservationService.release(id))
+        {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found or expired: " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+
+public class CacheStatsDTO implements Serializable {
+
+    private final long size;
+
+    private final long maxSize;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    public CacheStatsDTO(long size, long maxSize, long hits, long misses, long evictions) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheStatsDTO{" +
+                "size=" + getSize() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                "}";
+    }
+}
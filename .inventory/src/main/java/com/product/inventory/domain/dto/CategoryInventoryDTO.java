@@ -0,0 +1,58 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+
+public class CategoryInventoryDTO implements Serializable {
+
+    private final Long categoryId;
+
+    private final String nameCategory;
+
+    private final long productCount;
+
+    private final long totalQuantity;
+
+    private final double totalValue;
+
+    public CategoryInventoryDTO(Long categoryId, String nameCategory, long productCount, long totalQuantity, double totalValue) {
+        this.categoryId = categoryId;
+        this.nameCategory = nameCategory;
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+        this.totalValue = totalValue;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getNameCategory() {
+        return nameCategory;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    /**
+     * Sum of {@code price * quantity} over the products of the category.
+     */
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategoryInventoryDTO{" +
+                "categoryId=" + getCategoryId() +
+                ", productCount=" + getProductCount() +
+                ", totalQuantity=" + getTotalQuantity() +
+                ", totalValue=" + getTotalValue() +
+                "}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ChangeBatchDTO implements Serializable {
+
+    private final String epoch;
+
+    private final List<ChangeDTO> changes;
+
+    private final long lastSequence;
+
+    private final boolean reset;
+
+    public ChangeBatchDTO(String epoch, List<ChangeDTO> changes, long lastSequence, boolean reset) {
+        this.epoch = epoch;
+        this.changes = changes;
+        this.lastSequence = lastSequence;
+        this.reset = reset;
+    }
+
+    /**
+     * Run of the server the sequences belong to; pass it as {@code epoch} with the next {@code since}.
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public List<ChangeDTO> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Sequence to pass as {@code since} on the next request.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * {@code true} when changes after the requested sequence are no longer buffered, or the sequence belongs to another
+     * epoch (e.g. it is from before a restart): the client has to reload its state with the regular endpoints, then follow the feed from here.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeBatchDTO{" +
+                "epoch='" + getEpoch() + "'" +
+                ", changes=" + getChanges().size() +
+                ", lastSequence=" + getLastSequence() +
+                ", reset=" + isReset() +
+                "}";
+    }
+}
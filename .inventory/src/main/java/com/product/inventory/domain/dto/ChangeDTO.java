@@ -0,0 +1,83 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Set;
+
+public class ChangeDTO implements Serializable {
+
+    public enum Entity { PRODUCT, CATEGORY }
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final long sequence;
+
+    private final Entity entity;
+
+    private final Type type;
+
+    private final Long id;
+
+    private final Integer version;
+
+    private final Set<String> changedFields;
+
+    private final Instant committedAt;
+
+    public ChangeDTO(long sequence, Entity entity, Type type, Long id, Integer version, Set<String> changedFields, Instant committedAt) {
+        this.sequence = sequence;
+        this.entity = entity;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+        this.changedFields = changedFields;
+        this.committedAt = committedAt;
+    }
+
+    /**
+     * Position in the change feed; resume with {@code since} set to the last sequence seen.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Entity version after the change; {@code null} for categories and deletions.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public Instant getCommittedAt() {
+        return committedAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeDTO{" +
+                "sequence=" + getSequence() +
+                ", entity=" + getEntity() +
+                ", type=" + getType() +
+                ", id=" + getId() +
+                ", version=" + getVersion() +
+                ", changedFields=" + getChangedFields() +
+                "}";
+    }
+}
@@ -0,0 +1,45 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class CursorPageDTO<T> implements Serializable {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private final int size;
+
+    public CursorPageDTO(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CursorPageDTO{" +
+                "size=" + getSize() +
+                ", elements=" + getContent().size() +
+                ", nextCursor='" + getNextCursor() + "'" +
+                "}";
+    }
+}
@@ -0,0 +1,98 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class FilterIndexAdviceDTO implements Serializable {
+
+    private final List<String> criteria;
+
+    private final String sort;
+
+    private final long executions;
+
+    private final long slowExecutions;
+
+    private final double averageMillis;
+
+    private final double maxMillis;
+
+    private final List<String> indexColumns;
+
+    private final String coveringIndex;
+
+    public FilterIndexAdviceDTO(List<String> criteria, String sort, long executions, long slowExecutions, double averageMillis, double maxMillis,
+                                List<String> indexColumns, String coveringIndex) {
+        this.criteria = criteria;
+        this.sort = sort;
+        this.executions = executions;
+        this.slowExecutions = slowExecutions;
+        this.averageMillis = averageMillis;
+        this.maxMillis = maxMillis;
+        this.indexColumns = indexColumns;
+        this.coveringIndex = coveringIndex;
+    }
+
+    /**
+     * Filter fields that were set, e.g. {@code minPrice}, {@code categoryName}.
+     */
+    public List<String> getCriteria() {
+        return criteria;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getSlowExecutions() {
+        return slowExecutions;
+    }
+
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Product columns of an index that would serve the shape, in order; empty when no b-tree index can help.
+     */
+    public List<String> getIndexColumns() {
+        return indexColumns;
+    }
+
+    /**
+     * Existing index whose leading columns match {@link #getIndexColumns()}, {@code null} when there is none.
+     */
+    public String getCoveringIndex() {
+        return coveringIndex;
+    }
+
+    /**
+     * DDL for the suggested index, {@code null} when it already exists or no index can help.
+     */
+    public String getSuggestedIndex() {
+        if (coveringIndex != null || indexColumns.isEmpty()) {
+            return null;
+        }
+        return "create index ix_product_" + String.join("_", indexColumns) + " on product (" + String.join(", ", indexColumns) + ")";
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FilterIndexAdviceDTO{" +
+                "criteria=" + getCriteria() +
+                ", sort='" + getSort() + "'" +
+                ", slowExecutions=" + getSlowExecutions() +
+                ", indexColumns=" + getIndexColumns() +
+                ", coveringIndex='" + getCoveringIndex() + "'" +
+                "}";
+    }
+}
@@ -0,0 +1,33 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ImportErrorDTO implements Serializable {
+
+    private final int row;
+
+    private final List<String> messages;
+
+    public ImportErrorDTO(int row, List<String> messages) {
+        this.row = row;
+        this.messages = messages;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportErrorDTO{" +
+                "row=" + getRow() +
+                ", messages=" + getMessages() +
+                "}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ImportResultDTO implements Serializable {
+
+    private final int imported;
+
+    private final List<ImportErrorDTO> errors;
+
+    public ImportResultDTO(int imported, List<ImportErrorDTO> errors) {
+        this.imported = imported;
+        this.errors = errors;
+    }
+
+    public int getReceived() {
+        return imported + errors.size();
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getRejected() {
+        return errors.size();
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+                "received=" + getReceived() +
+                ", imported=" + getImported() +
+                ", rejected=" + getRejected() +
+                "}";
+    }
+}
@@ -0,0 +1,39 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ProductBatchDTO implements Serializable {
+
+    private final List<ProductDTO> content;
+
+    private final List<Long> missing;
+
+    public ProductBatchDTO(List<ProductDTO> content, List<Long> missing) {
+        this.content = content;
+        this.missing = missing;
+    }
+
+    /**
+     * Found products, in the order of the requested ids.
+     */
+    public List<ProductDTO> getContent() {
+        return content;
+    }
+
+    /**
+     * Requested ids without a product, in request order.
+     */
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductBatchDTO{" +
+                "content=" + getContent().size() +
+                ", missing=" + getMissing() +
+                "}";
+    }
+}
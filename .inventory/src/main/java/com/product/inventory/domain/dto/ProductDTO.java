@@ -1,5 +1,6 @@
 package com.product.inventory.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.product.inventory.domain.dto.validation.StrictDoubleDeserializer;
 import com.product.inventory.domain.dto.validation.StrictLongDeserializer;
@@ -30,6 +31,9 @@ public class ProductDTO implements Serializable {
 
     private CategoryDTO category;
 
+    @JsonIgnore
+    private Integer version;
+
     public Long getId() {
         return id;
     }
@@ -78,6 +82,17 @@ public class ProductDTO implements Serializable {
         this.category = category;
     }
 
+    /**
+     * Entity version, exposed to clients only through the ETag header.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
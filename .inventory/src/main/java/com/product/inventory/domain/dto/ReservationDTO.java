@@ -0,0 +1,49 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class ReservationDTO implements Serializable {
+
+    private final String id;
+
+    private final Long productId;
+
+    private final long quantity;
+
+    private final Instant expiresAt;
+
+    public ReservationDTO(String id, Long productId, long quantity, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReservationDTO{" +
+                "id='" + getId() + "'" +
+                ", productId=" + getProductId() +
+                ", quantity=" + getQuantity() +
+                ", expiresAt=" + getExpiresAt() +
+                "}";
+    }
+}
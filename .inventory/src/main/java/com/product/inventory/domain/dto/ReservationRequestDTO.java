@@ -0,0 +1,44 @@
+package com.product.inventory.domain.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.product.inventory.domain.dto.validation.StrictLongDeserializer;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+public class ReservationRequestDTO implements Serializable {
+
+    @NotNull(message = "Product id is required.")
+    private Long productId;
+
+    @NotNull(message = "Reservation quantity is required.")
+    @Min(value = 1, message = "Reservation quantity must be greater than 0")
+    @JsonDeserialize(using = StrictLongDeserializer.class)
+    private Long quantity;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReservationRequestDTO{" +
+                "productId=" + getProductId() +
+                ", quantity=" + getQuantity() +
+                "}";
+    }
+}
@@ -0,0 +1,30 @@
+package com.product.inventory.domain.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.product.inventory.domain.dto.validation.StrictLongDeserializer;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+public class StockAdjustmentDTO implements Serializable {
+
+    @NotNull(message = "Stock delta is required.")
+    @JsonDeserialize(using = StrictLongDeserializer.class)
+    private Long delta;
+
+    public Long getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Long delta) {
+        this.delta = delta;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockAdjustmentDTO{" +
+                "delta=" + getDelta() +
+                "}";
+    }
+}
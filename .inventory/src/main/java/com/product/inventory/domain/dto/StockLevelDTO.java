@@ -0,0 +1,32 @@
+package com.product.inventory.domain.dto;
+
+import java.io.Serializable;
+
+public class StockLevelDTO implements Serializable {
+
+    private final Long productId;
+
+    private final Long quantity;
+
+    public StockLevelDTO(Long productId, Long quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLevelDTO{" +
+                "productId=" + getProductId() +
+                ", quantity=" + getQuantity() +
+                "}";
+    }
+}
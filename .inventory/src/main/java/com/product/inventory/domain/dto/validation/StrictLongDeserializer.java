@@ -1,9 +1,10 @@
 package com.product.inventory.domain.dto.validation;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
 import java.io.IOException;
 
@@ -11,14 +12,16 @@ public class StrictLongDeserializer extends JsonDeserializer<Long> {
 
     @Override
     public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-
-        // Check if the value is a number
-        if (!node.isNumber()) {
-            throw ctxt.weirdNumberException(node.numberValue(), Long.class, "Quantity must be a number, not a string.");
+        // Read the number straight from the current token, no tree is built
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        if (token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw MismatchedInputException.from(p, Long.class, "Quantity must be a number, not a string.");
         }
 
-        return node.asLong();
+        // Fractions are truncated, as JsonNode.asLong() did
+        return (long) p.getDoubleValue();
     }
 }
-
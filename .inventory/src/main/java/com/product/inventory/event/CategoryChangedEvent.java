@@ -0,0 +1,59 @@
+package com.product.inventory.event;
+
+import com.product.inventory.domain.dto.CategoryDTO;
+
+/**
+ * Published by {@code CategoryServiceImpl} for every category write.
+ */
+public class CategoryChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+
+    private final Long categoryId;
+
+    private final CategoryDTO category;
+
+    private CategoryChangedEvent(Type type, Long categoryId, CategoryDTO category) {
+        this.type = type;
+        this.categoryId = categoryId;
+        this.category = category;
+    }
+
+    public static CategoryChangedEvent created(CategoryDTO category) {
+        return new CategoryChangedEvent(Type.CREATED, category.getId(), category);
+    }
+
+    public static CategoryChangedEvent updated(CategoryDTO category) {
+        return new CategoryChangedEvent(Type.UPDATED, category.getId(), category);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(Type.DELETED, categoryId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * State after the write, {@code null} for {@link Type#DELETED}.
+     */
+    public CategoryDTO getCategory() {
+        return category;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategoryChangedEvent{" +
+                "type=" + getType() +
+                ", categoryId=" + getCategoryId() +
+                "}";
+    }
+}
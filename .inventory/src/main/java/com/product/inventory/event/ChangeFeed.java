@@ -0,0 +1,108 @@
+package com.product.inventory.event;
+
+import com.product.inventory.domain.dto.ChangeBatchDTO;
+import com.product.inventory.domain.dto.ChangeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process ring buffer of committed product and category changes, numbered with a sequence that grows by one per
+ * change. The sequence only means something within one run of this node, so it is paired with a random epoch chosen
+ * at startup. Readers resume from the epoch and last sequence they have seen; once the buffer has wrapped past it, or
+ * the epoch is not the current one (a restart, or another node), they are told to reset, i.e. reload and continue from
+ * the current head. Holds the last {@code inventory.changes.capacity} changes of this node only.
+ */
+@Component
+public class ChangeFeed {
+
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final ChangeDTO[] buffer;
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private long head;
+
+    public ChangeFeed(@Value("${inventory.changes.capacity:10000}") int capacity)
+    {
+        this.buffer = new ChangeDTO[capacity];
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event)
+    {
+        if (event.getType() == ProductChangedEvent.Type.UPDATED && event.getChangedFields().isEmpty()) {
+            return;
+        }
+        ChangeDTO.Type type = switch (event.getType()) {
+            case CREATED -> ChangeDTO.Type.CREATED;
+            case UPDATED, STOCK_ADJUSTED -> ChangeDTO.Type.UPDATED;
+            case DELETED -> ChangeDTO.Type.DELETED;
+        };
+        this.append(ChangeDTO.Entity.PRODUCT, type, event.getProductId(), event.getVersion(), event.getChangedFields());
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event)
+    {
+        switch (event.getType()) {
+            case CREATED -> this.append(ChangeDTO.Entity.CATEGORY, ChangeDTO.Type.CREATED, event.getCategoryId(), null, Set.of("nameCategory"));
+            case UPDATED -> this.append(ChangeDTO.Entity.CATEGORY, ChangeDTO.Type.UPDATED, event.getCategoryId(), null, Set.of("nameCategory"));
+            case DELETED -> this.append(ChangeDTO.Entity.CATEGORY, ChangeDTO.Type.DELETED, event.getCategoryId(), null, Set.of());
+        }
+    }
+
+    /**
+     * Up to {@code limit} changes with a sequence greater than {@code since}. Without an {@code epoch} only
+     * {@code since = 0} is accepted, since any other sequence may come from an earlier run.
+     */
+    public synchronized ChangeBatchDTO read(String epoch, long since, int limit)
+    {
+        long oldest = Math.max(1, this.head - this.buffer.length + 1);
+        boolean sameRun = epoch != null ? epoch.equals(this.epoch) : since == 0;
+        if (!sameRun || since > this.head || since < oldest - 1) {
+            return new ChangeBatchDTO(this.epoch, List.of(), this.head, true);
+        }
+        List<ChangeDTO> changes = new ArrayList<>();
+        for (long sequence = since + 1; sequence <= this.head && changes.size() < limit; sequence++) {
+            changes.add(this.buffer[(int) (sequence % this.buffer.length)]);
+        }
+        long last = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ChangeBatchDTO(this.epoch, changes, last, false);
+    }
+
+    public String epoch()
+    {
+        return this.epoch;
+    }
+
+    public synchronized long head()
+    {
+        return this.head;
+    }
+
+    /**
+     * Called on the committing thread after each appended change; must not block.
+     */
+    public void addListener(Runnable listener)
+    {
+        this.listeners.add(listener);
+    }
+
+    private void append(ChangeDTO.Entity entity, ChangeDTO.Type type, Long id, Integer version, Set<String> changedFields)
+    {
+        synchronized (this) {
+            this.head++;
+            this.buffer[(int) (this.head % this.buffer.length)] = new ChangeDTO(this.head, entity, type, id, version, changedFields, Instant.now());
+        }
+        this.listeners.forEach(Runnable::run);
+    }
+}
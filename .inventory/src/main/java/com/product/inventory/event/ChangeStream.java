@@ -0,0 +1,181 @@
+package com.product.inventory.event;
+
+import com.product.inventory.domain.dto.ChangeBatchDTO;
+import com.product.inventory.domain.dto.ChangeDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the {@link ChangeFeed} to Server-Sent Events subscribers. Each change is sent as an unnamed event whose id is
+ * {@code epoch:sequence}, so a reconnecting {@code EventSource} resumes through {@code Last-Event-ID}; a {@code reset} event
+ * tells the client that it fell behind the buffer and has to reload. All sends happen on one dispatcher thread, never
+ * on the committing request thread.
+ */
+@Component
+public class ChangeStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStream.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ChangeFeed changeFeed;
+
+    private final Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeStream(ChangeFeed changeFeed, @Value("${inventory.changes.stream-timeout:PT30M}") Duration timeout)
+    {
+        this.changeFeed = changeFeed;
+        this.timeout = timeout;
+        changeFeed.addListener(this::scheduleDispatch);
+    }
+
+    /**
+     * Streams changes after {@code since} of {@code epoch}, or only new ones when {@code since} is {@code null}.
+     */
+    public SseEmitter subscribe(String epoch, Long since)
+    {
+        SseEmitter emitter = new SseEmitter(this.timeout.toMillis());
+        if (this.closed) {
+            emitter.complete();
+            return emitter;
+        }
+        Subscriber subscriber = since != null ? new Subscriber(emitter, epoch, since) : new Subscriber(emitter, this.changeFeed.epoch(), this.changeFeed.head());
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(e -> this.subscribers.remove(subscriber));
+        this.subscribers.add(subscriber);
+        this.scheduleDispatch();
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.changes.heartbeat:PT15S}")
+    public void heartbeat()
+    {
+        this.execute(() -> {
+            for (Subscriber subscriber : this.subscribers) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    this.drop(subscriber, e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close()
+    {
+        this.closed = true;
+        this.dispatcher.shutdownNow();
+        this.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        this.subscribers.clear();
+    }
+
+    private void scheduleDispatch()
+    {
+        if (this.dispatchScheduled.compareAndSet(false, true)) {
+            this.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Hands a task to the dispatcher thread; dropped once the stream is closed, as the scheduler and committing
+     * transactions may still call in while the context shuts down.
+     */
+    private void execute(Runnable task)
+    {
+        if (this.closed) {
+            return;
+        }
+        try {
+            this.dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Change stream closed, dropping dispatch");
+        }
+    }
+
+    private void dispatch()
+    {
+        this.dispatchScheduled.set(false);
+        for (Subscriber subscriber : this.subscribers) {
+            try {
+                this.send(subscriber);
+            } catch (IOException | IllegalStateException e) {
+                this.drop(subscriber, e);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) throws IOException
+    {
+        while (true) {
+            ChangeBatchDTO batch = this.changeFeed.read(subscriber.epoch, subscriber.position, BATCH_SIZE);
+            if (batch.isReset()) {
+                subscriber.emitter.send(SseEmitter.event().id(eventId(batch.getEpoch(), batch.getLastSequence())).name("reset").data(batch, MediaType.APPLICATION_JSON));
+            }
+            for (ChangeDTO change : batch.getChanges()) {
+                subscriber.emitter.send(SseEmitter.event().id(eventId(batch.getEpoch(), change.getSequence())).data(change, MediaType.APPLICATION_JSON));
+            }
+            subscriber.epoch = batch.getEpoch();
+            subscriber.position = batch.getLastSequence();
+            if (batch.getChanges().size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private static String eventId(String epoch, long sequence)
+    {
+        return epoch + ":" + sequence;
+    }
+
+    private void drop(Subscriber subscriber, Exception e)
+    {
+        LOG.debug("Change stream subscriber gone: {}", e.getMessage());
+        this.subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private String epoch;
+
+        private long position;
+
+        Subscriber(SseEmitter emitter, String epoch, long position)
+        {
+            this.emitter = emitter;
+            this.epoch = epoch;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.product.inventory.event;
+
+import com.product.inventory.domain.dto.ProductDTO;
+
+import java.util.Set;
+
+/**
+ * Published by {@code ProductServiceImpl} for every product write; listeners that keep derived
+ * read models in sync should consume it after commit.
+ */
+public class ProductChangedEvent {
+
+    public enum Type { CREATED, UPDATED, STOCK_ADJUSTED, DELETED }
+
+    public static final Set<String> ALL_FIELDS = Set.of("name", "description", "price", "quantity", "category");
+
+    private final Type type;
+
+    private final Long productId;
+
+    private final ProductDTO product;
+
+    private final Long quantity;
+
+    private final Integer version;
+
+    private final Set<String> changedFields;
+
+    private ProductChangedEvent(Type type, Long productId, ProductDTO product, Long quantity, Integer version, Set<String> changedFields) {
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+        this.quantity = quantity;
+        this.version = version;
+        this.changedFields = changedFields;
+    }
+
+    public static ProductChangedEvent created(ProductDTO product) {
+        return new ProductChangedEvent(Type.CREATED, product.getId(), product, product.getQuantity(), product.getVersion(), ALL_FIELDS);
+    }
+
+    /**
+     * Update whose changed fields are not known; treated as a change of every field.
+     */
+    public static ProductChangedEvent updated(ProductDTO product) {
+        return updated(product, ALL_FIELDS);
+    }
+
+    public static ProductChangedEvent updated(ProductDTO product, Set<String> changedFields) {
+        return new ProductChangedEvent(Type.UPDATED, product.getId(), product, product.getQuantity(), product.getVersion(), Set.copyOf(changedFields));
+    }
+
+    public static ProductChangedEvent stockAdjusted(Long productId, Long quantity, Integer version) {
+        return new ProductChangedEvent(Type.STOCK_ADJUSTED, productId, null, quantity, version, Set.of("quantity"));
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(Type.DELETED, productId, null, null, null, Set.of());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    /**
+     * State after the write, {@code null} for {@link Type#STOCK_ADJUSTED} and {@link Type#DELETED}.
+     */
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    /**
+     * Quantity after the write, {@code null} for {@link Type#DELETED}.
+     */
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Entity version after the write, {@code null} for {@link Type#DELETED}.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Product fields whose value changed; empty for {@link Type#DELETED} and for updates that changed nothing.
+     */
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{" +
+                "type=" + getType() +
+                ", productId=" + getProductId() +
+                ", changedFields=" + getChangedFields() +
+                "}";
+    }
+}
@@ -1,8 +1,16 @@
 package com.product.inventory.exception;
 
+import com.product.inventory.concurrency.BulkheadFullException;
 import com.product.inventory.controller.ProductController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -48,19 +56,96 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getStatusCode()).body(errorCases);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        LOG.debug("Concurrent modification: {}", ex.getMessage());
+        Map<String, List<String>> errorCases = new HashMap<>();
+        errorCases.put("message", List.of("The entity was modified concurrently, reload it and retry"));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorCases);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Object> handleBulkheadFull(BulkheadFullException ex) {
+        LOG.debug("Database bulkhead full: {}", ex.getMessage());
+        Map<String, List<String>> errorCases = new HashMap<>();
+        errorCases.put("message", List.of(ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorCases);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
+        List<String> errorCases = new ArrayList<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations())
+        {
+            errorCases.add(violation.getMessage());
+        }
+
+        Map<String, List<String>> error = new HashMap<>();
+        error.put("message", errorCases);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, List<String>>> handleHttpMessageNotReadable(HttpMessageNotReadableException ex)
+    {
+        return unreadable(ex);
+    }
+
+    /**
+     * Merge patches are applied after the request body was read, so their binding errors arrive unwrapped.
+     */
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Map<String, List<String>>> handleJsonProcessingException(JsonProcessingException ex)
+    {
+        return unreadable(ex);
+    }
+
+    /**
+     * Classifies the Jackson exception behind an unreadable body by its target type and JSON path instead of
+     * its message text.
+     */
+    private static ResponseEntity<Map<String, List<String>>> unreadable(Exception ex)
     {
         Map<String, List<String>> response = new HashMap<>();
         List<String> errors = new ArrayList<>();
-        if (ex.getMessage().contains("Double")) {
-            errors.add("Price must be a valid number");
-        }
-        if (ex.getMessage().contains("Long")) {
-            errors.add("Quantity must be a valid number");
+        MismatchedInputException mismatch = findCause(ex, MismatchedInputException.class);
+        JsonProcessingException malformed = findCause(ex, JsonProcessingException.class);
+        if (mismatch != null) {
+            String field = fieldName(mismatch);
+            errors.add(field + (isNumber(mismatch.getTargetType()) ? " must be a valid number" : " has an invalid value"));
+        } else if (malformed != null) {
+            errors.add("Malformed JSON: " + malformed.getOriginalMessage());
+        } else {
+            errors.add("Request body is missing or unreadable");
         }
         response.put("message", errors);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    private static <T extends Throwable> T findCause(Throwable ex, Class<T> type)
+    {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    private static String fieldName(MismatchedInputException ex)
+    {
+        List<JsonMappingException.Reference> path = ex.getPath();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            String name = path.get(i).getFieldName();
+            if (name != null && !name.isEmpty()) {
+                return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            }
+        }
+        return "Request body";
+    }
+
+    private static boolean isNumber(Class<?> type)
+    {
+        return type != null && (Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class && type != char.class));
+    }
 }
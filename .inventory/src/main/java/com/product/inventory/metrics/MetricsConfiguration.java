@@ -0,0 +1,76 @@
+package com.product.inventory.metrics;
+
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.search.ProductFilterCache;
+import com.product.inventory.service.search.ProductTextIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Routes every connection through {@link StatementCountingDataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor()
+    {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName)
+            {
+                return bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource) ? new StatementCountingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder categoryCacheMetrics(CategoryService categoryService)
+    {
+        return registry -> {
+            Gauge.builder("inventory.category.cache.size", categoryService, service -> service.getCacheStats().getSize())
+                    .description("Categories held in the category cache")
+                    .register(registry);
+            FunctionCounter.builder("inventory.category.cache.requests", categoryService, service -> service.getCacheStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("inventory.category.cache.requests", categoryService, service -> service.getCacheStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("inventory.category.cache.evictions", categoryService, service -> service.getCacheStats().getEvictions())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder filterCacheMetrics(ProductFilterCache productFilterCache)
+    {
+        return registry -> {
+            Gauge.builder("inventory.filter.cache.size", productFilterCache, cache -> cache.getCacheStats().getSize())
+                    .description("Filter pages held in the filter result cache, including superseded ones")
+                    .register(registry);
+            FunctionCounter.builder("inventory.filter.cache.requests", productFilterCache, cache -> cache.getCacheStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("inventory.filter.cache.requests", productFilterCache, cache -> cache.getCacheStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("inventory.filter.cache.evictions", productFilterCache, cache -> cache.getCacheStats().getEvictions())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder textIndexMetrics(ProductTextIndex productTextIndex)
+    {
+        return registry -> Gauge.builder("inventory.search.index.keys", productTextIndex, ProductTextIndex::keyCount)
+                .description("Distinct n-gram keys held by the product text index")
+                .register(registry);
+    }
+}
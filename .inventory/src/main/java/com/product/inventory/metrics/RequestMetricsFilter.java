@@ -0,0 +1,54 @@
+package com.product.inventory.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request executed, tagged like {@code http.server.requests}
+ * with the method and the URI template. With {@code inventory.sql.n-plus-one.threshold} above zero it also
+ * warns about requests that repeat the same SELECT that many times.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "inventory.http.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int repeatThreshold;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, @Value("${inventory.sql.n-plus-one.threshold:0}") int repeatThreshold)
+    {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException
+    {
+        StatementCounter.Scope scope = StatementCounter.open(request.getMethod() + " " + request.getRequestURI(), this.repeatThreshold);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(STATEMENTS_METRIC)
+                    .description("SQL statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(this.meterRegistry)
+                    .record(scope.count());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.product.inventory.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements the current thread executes while a {@link Scope} is open. Scopes nest: a statement
+ * counts for every open scope of the thread, so a test can count a single call inside a counted request.
+ * <p>
+ * A scope opened with a repeat threshold also watches for N+1 selects: once the same SELECT shape (the SQL with
+ * whitespace and IN lists normalized) runs {@code threshold} times, a warning with the call stack is logged.
+ */
+public final class StatementCounter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatementCounter.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter()
+    {
+    }
+
+    public static Scope open()
+    {
+        return open(null, 0);
+    }
+
+    /**
+     * Opens a scope that reports repeated SELECTs of one shape once they reach {@code repeatThreshold}
+     * (0 disables the check); {@code label} names the scope in the warning.
+     */
+    public static Scope open(String label, int repeatThreshold)
+    {
+        Scope scope = new Scope(CURRENT.get(), label, repeatThreshold);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void record(String sql)
+    {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+    }
+
+    static String shape(String sql)
+    {
+        return IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?)");
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private final String label;
+
+        private final int repeatThreshold;
+
+        private final Map<String, Integer> selects = new HashMap<>();
+
+        private final Set<String> repeatedSelects = new LinkedHashSet<>();
+
+        private int count;
+
+        private Scope(Scope parent, String label, int repeatThreshold)
+        {
+            this.parent = parent;
+            this.label = label;
+            this.repeatThreshold = repeatThreshold;
+        }
+
+        public int count()
+        {
+            return this.count;
+        }
+
+        /**
+         * SELECT shapes that reached the repeat threshold in this scope.
+         */
+        public Set<String> repeatedSelects()
+        {
+            return this.repeatedSelects;
+        }
+
+        private void record(String sql)
+        {
+            this.count++;
+            if (this.repeatThreshold <= 0 || sql == null || !sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                return;
+            }
+            String shape = shape(sql);
+            if (this.selects.merge(shape, 1, Integer::sum) == this.repeatThreshold) {
+                this.repeatedSelects.add(shape);
+                LOG.warn("Possible N+1 in {}: the same SELECT ran {} times: {}", this.label, this.repeatThreshold, shape, new Throwable("Call stack of the repeated SELECT"));
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if (CURRENT.get() == this) {
+                if (this.parent != null) {
+                    CURRENT.set(this.parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
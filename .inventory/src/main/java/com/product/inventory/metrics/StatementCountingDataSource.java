@@ -0,0 +1,92 @@
+package com.product.inventory.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so every statement execution (including a whole JDBC batch, counted once) is reported to
+ * {@link StatementCounter}.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource)
+    {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection)
+    {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return countingStatement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement countingStatement(Statement statement, String preparedSql)
+    {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    if (method.getName().startsWith("execute")) {
+                        StatementCounter.record(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isIdentityMethod(Method method)
+    {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args)
+    {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+    {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
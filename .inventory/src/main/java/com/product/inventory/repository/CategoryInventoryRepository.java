@@ -0,0 +1,114 @@
+package com.product.inventory.repository;
+
+import com.product.inventory.domain.dto.CategoryInventoryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Native access to the {@code category_inventory} aggregate table. Writes declare it as their only query space;
+ * otherwise Hibernate would treat a native statement as touching every table and clear the whole second-level cache.
+ */
+@Repository
+public class CategoryInventoryRepository {
+
+    private static final String TABLE = "category_inventory";
+
+    private static final String SELECT = "select c.id, c.name_category, coalesce(ci.product_count, 0), coalesce(ci.total_quantity, 0), coalesce(ci.total_value, 0) "
+            + "from category c left join category_inventory ci on ci.category_id = c.id";
+
+    private final EntityManager entityManager;
+
+    public CategoryInventoryRepository(EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Adds the deltas to the row of the category, creating it when missing; must run inside a transaction.
+     */
+    public void addDeltas(Long categoryId, long productCount, long totalQuantity, double totalValue)
+    {
+        this.nativeWrite("merge into category_inventory ci "
+                        + "using (select cast(:categoryId as bigint) as category_id, cast(:productCount as bigint) as product_count, "
+                        + "cast(:totalQuantity as bigint) as total_quantity, cast(:totalValue as double precision) as total_value) d "
+                        + "on ci.category_id = d.category_id "
+                        + "when matched then update set product_count = ci.product_count + d.product_count, "
+                        + "total_quantity = ci.total_quantity + d.total_quantity, total_value = ci.total_value + d.total_value "
+                        + "when not matched then insert (category_id, product_count, total_quantity, total_value) "
+                        + "values (d.category_id, d.product_count, d.total_quantity, d.total_value)")
+                .setParameter("categoryId", categoryId)
+                .setParameter("productCount", productCount)
+                .setParameter("totalQuantity", totalQuantity)
+                .setParameter("totalValue", totalValue)
+                .executeUpdate();
+    }
+
+    public List<CategoryInventoryDTO> findAll()
+    {
+        List<?> rows = this.entityManager.createNativeQuery(SELECT + " order by c.id").getResultList();
+        return rows.stream().map(row -> toDto((Object[]) row)).toList();
+    }
+
+    public Optional<CategoryInventoryDTO> findByCategoryId(Long categoryId)
+    {
+        List<?> rows = this.entityManager.createNativeQuery(SELECT + " where c.id = :categoryId")
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> toDto((Object[]) row));
+    }
+
+    /**
+     * Recomputes the row of the category from the product table and overwrites it when it drifted; returns whether it
+     * did. Locks the row first, so writers that already added their deltas have committed and writers that have not
+     * yet will add theirs on top of the corrected values. Must run inside a transaction.
+     */
+    public boolean reconcile(Long categoryId)
+    {
+        this.addDeltas(categoryId, 0, 0, 0.0);
+        Object[] stored = (Object[]) this.entityManager.createNativeQuery("select product_count, total_quantity, total_value from category_inventory where category_id = :categoryId for update")
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+        Object[] actual = (Object[]) this.entityManager.createNativeQuery("select count(*), coalesce(sum(quantity), 0), coalesce(sum(coalesce(price, 0) * coalesce(quantity, 0)), 0) "
+                        + "from product where category_id = :categoryId")
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+
+        long productCount = ((Number) actual[0]).longValue();
+        long totalQuantity = ((Number) actual[1]).longValue();
+        double totalValue = ((Number) actual[2]).doubleValue();
+        if (((Number) stored[0]).longValue() == productCount && ((Number) stored[1]).longValue() == totalQuantity
+                && Math.abs(((Number) stored[2]).doubleValue() - totalValue) < 0.005) {
+            return false;
+        }
+        this.nativeWrite("update category_inventory set product_count = :productCount, total_quantity = :totalQuantity, total_value = :totalValue where category_id = :categoryId")
+                .setParameter("productCount", productCount)
+                .setParameter("totalQuantity", totalQuantity)
+                .setParameter("totalValue", totalValue)
+                .setParameter("categoryId", categoryId)
+                .executeUpdate();
+        return true;
+    }
+
+    public List<Long> findCategoryIds()
+    {
+        return this.entityManager.createQuery("select c.id from Category c order by c.id", Long.class).getResultList();
+    }
+
+    private Query nativeWrite(String sql)
+    {
+        Query query = this.entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(TABLE);
+        return query;
+    }
+
+    private static CategoryInventoryDTO toDto(Object[] row)
+    {
+        return new CategoryInventoryDTO(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).longValue(),
+                ((Number) row[3]).longValue(), ((Number) row[4]).doubleValue());
+    }
+}
@@ -1,8 +1,74 @@
 package com.product.inventory.repository;
 
 import com.product.inventory.domain.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"), forCounting = true)
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    /**
+     * Reads the product row under a write lock, so a stock adjustment can check and apply its delta as an entity
+     * update: the version is bumped and only this product's second-level cache entry is replaced, where a bulk
+     * statement would evict the whole Product region.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findForUpdateById(@Param("id") Long id);
+
+    @Query("select p from Product p left join fetch p.category where p.id in :ids")
+    List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.version as version, c.nameCategory as categoryName from Product p left join p.category c where p.id = :id")
+    Optional<VersionSnapshot> findVersionSnapshotById(@Param("id") Long id);
+
+    @Query("select p.quantity from Product p where p.id = :id")
+    Optional<Long> findQuantityById(@Param("id") Long id);
+
+    @Query("select p.quantity as quantity, p.version as version, p.price as price, p.category.id as categoryId from Product p where p.id = :id")
+    Optional<StockSnapshot> findStockSnapshotById(@Param("id") Long id);
+
+    interface VersionSnapshot {
+
+        Integer getVersion();
+
+        String getCategoryName();
+    }
+
+    interface StockSnapshot {
+
+        Long getQuantity();
+
+        Integer getVersion();
+
+        Double getPrice();
+
+        Long getCategoryId();
+    }
 }
@@ -0,0 +1,39 @@
+package com.product.inventory.repository;
+
+import com.product.inventory.domain.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Runs the specification as a plain row window (offset/limit) without the count query
+     * Spring Data issues for {@code findAll(spec, pageable)}.
+     */
+    List<Product> findWindow(Specification<Product> specification, Sort sort, long offset, int limit);
+
+    /**
+     * Same as {@code findAll(spec, pageable)}, but the row and count queries go through the Hibernate query cache.
+     * Meant for the structured filter shapes (price, quantity, category) that repeat across requests; cached results
+     * are dropped as soon as the product or category table changes.
+     */
+    Page<Product> findCachedPage(Specification<Product> specification, Pageable pageable);
+
+    /**
+     * Walks every product in id order, handing batches to the consumer and detaching them afterwards,
+     * so read models can be rebuilt without holding the whole table in the persistence context.
+     */
+    void scanAll(int batchSize, Consumer<List<Product>> consumer);
+
+    /**
+     * Forward-only, read-only stream over the specification with the given JDBC fetch size.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<Product> streamAll(Specification<Product> specification, Sort sort, int fetchSize);
+}
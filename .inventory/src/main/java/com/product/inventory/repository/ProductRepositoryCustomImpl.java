@@ -0,0 +1,157 @@
+package com.product.inventory.repository;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.repository.specification.ProductCursor;
+import com.product.inventory.repository.specification.ProductSpecification;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String LOAD_GRAPH_HINT = "jakarta.persistence.loadgraph";
+
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    private static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+
+    private final EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Product> findWindow(Specification<Product> specification, Sort sort, long offset, int limit)
+    {
+        TypedQuery<Product> typedQuery = this.createQuery(specification, sort);
+        typedQuery.setFirstResult(Math.toIntExact(offset));
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public Page<Product> findCachedPage(Specification<Product> specification, Pageable pageable)
+    {
+        TypedQuery<Product> typedQuery = this.createQuery(specification, pageable.getSort());
+        typedQuery.setHint(CACHEABLE_HINT, true);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> this.count(specification));
+    }
+
+    @Override
+    public Stream<Product> streamAll(Specification<Product> specification, Sort sort, int fetchSize)
+    {
+        TypedQuery<Product> typedQuery = this.createQuery(specification, sort);
+        typedQuery.setHint(FETCH_SIZE_HINT, fetchSize);
+        typedQuery.setHint(READ_ONLY_HINT, true);
+        return typedQuery.getResultStream();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanAll(int batchSize, Consumer<List<Product>> consumer)
+    {
+        ProductCursor cursor = ProductCursor.first(Sort.by("id"));
+        while (true) {
+            List<Product> batch = this.findWindow(cursor.hasPosition() ? ProductSpecification.seekAfter(cursor) : null, cursor.toSort(), 0, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            consumer.accept(batch);
+            cursor = cursor.after(batch.get(batch.size() - 1));
+            this.entityManager.clear();
+        }
+    }
+
+    /**
+     * Like {@link QueryUtils#toOrders}, which rejects an explicit null precedence, but renders it through Hibernate.
+     */
+    private static List<Order> toOrders(Sort sort, Root<Product> root, CriteriaBuilder criteriaBuilder)
+    {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (order.getNullHandling() == Sort.NullHandling.NATIVE) {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, criteriaBuilder));
+                continue;
+            }
+            HibernateCriteriaBuilder hibernateBuilder = (HibernateCriteriaBuilder) criteriaBuilder;
+            Path<?> path = root.get(order.getProperty());
+            boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+            orders.add(order.isAscending() ? hibernateBuilder.asc(path, nullsFirst) : hibernateBuilder.desc(path, nullsFirst));
+        }
+        return orders;
+    }
+
+    private TypedQuery<Product> createQuery(Specification<Product> specification, Sort sort)
+    {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root);
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, criteriaBuilder));
+        }
+
+        TypedQuery<Product> typedQuery = this.entityManager.createQuery(query);
+        typedQuery.setHint(LOAD_GRAPH_HINT, this.categoryGraph());
+        return typedQuery;
+    }
+
+    private long count(Specification<Product> specification)
+    {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(criteriaBuilder.count(root));
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        return this.entityManager.createQuery(query).setHint(CACHEABLE_HINT, true).getSingleResult();
+    }
+
+    private EntityGraph<Product> categoryGraph()
+    {
+        EntityGraph<Product> graph = this.entityManager.createEntityGraph(Product.class);
+        graph.addAttributeNodes("category");
+        return graph;
+    }
+}
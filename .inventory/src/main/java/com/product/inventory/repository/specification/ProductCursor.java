@@ -0,0 +1,131 @@
+package com.product.inventory.repository.specification;
+
+import com.product.inventory.domain.Product;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position in a keyset (seek) traversal of products, ordered by one sort key with the id as tie-breaker.
+ * Serialized as an opaque url-safe token so clients only pass back what they received.
+ * Null sort keys are ordered lowest, as H2 does by default: first when ascending, last when descending.
+ */
+public final class ProductCursor {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "price", "quantity");
+
+    private static final String SEPARATOR = "|";
+
+    private final Sort.Order order;
+
+    private final Long lastId;
+
+    private final Comparable<?> lastValue;
+
+    private ProductCursor(Sort.Order order, Long lastId, Comparable<?> lastValue)
+    {
+        this.order = order;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cursor pointing before the first row for the requested sort; only the first sort order is honoured.
+     */
+    public static ProductCursor first(Sort sort)
+    {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort property for cursor paging: " + order.getProperty());
+        }
+        return new ProductCursor(new Sort.Order(order.getDirection(), order.getProperty()), null, null);
+    }
+
+    public ProductCursor after(Product product)
+    {
+        return new ProductCursor(this.order, product.getId(), valueOf(product, this.order.getProperty()));
+    }
+
+    public static ProductCursor decode(String token)
+    {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+
+        // a position on a null sort key has no value part
+        String[] parts = decoded.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        try {
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+            return new ProductCursor(order, Long.valueOf(parts[2]), parts.length == 4 ? parseValue(parts[0], parts[3]) : null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public String encode()
+    {
+        String raw = this.order.getProperty() + SEPARATOR + this.order.getDirection() + SEPARATOR + this.lastId;
+        if (this.lastValue != null) {
+            raw += SEPARATOR + this.lastValue;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sort to run the seek query with: the cursor key, nulls lowest, followed by the id in the same direction.
+     */
+    public Sort toSort()
+    {
+        if ("id".equals(this.order.getProperty())) {
+            return Sort.by(this.order);
+        }
+        Sort.Order key = this.order.isAscending() ? this.order.nullsFirst() : this.order.nullsLast();
+        return Sort.by(key, new Sort.Order(this.order.getDirection(), "id"));
+    }
+
+    public boolean hasPosition()
+    {
+        return this.lastId != null;
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public Comparable<?> getLastValue() {
+        return lastValue;
+    }
+
+    private static Comparable<?> valueOf(Product product, String property)
+    {
+        return switch (property) {
+            case "name" -> product.getName();
+            case "description" -> product.getDescription();
+            case "price" -> product.getPrice();
+            case "quantity" -> product.getQuantity();
+            default -> product.getId();
+        };
+    }
+
+    private static Comparable<?> parseValue(String property, String value)
+    {
+        return switch (property) {
+            case "name", "description" -> value;
+            case "price" -> Double.valueOf(value);
+            default -> Long.valueOf(value);
+        };
+    }
+}
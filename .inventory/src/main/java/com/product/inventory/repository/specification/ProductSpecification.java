@@ -4,23 +4,42 @@ import com.product.inventory.domain.Category;
 import com.product.inventory.domain.Product;
 import com.product.inventory.domain.dto.ProductFilterDTO;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Locale;
+import java.util.Set;
+
 public class ProductSpecification {
 
+    private static final char ESCAPE = '\\';
+
     public static Specification<Product> filterByCriteria(ProductFilterDTO filter)
+    {
+        return filterByCriteria(filter, null);
+    }
+
+    /**
+     * Same as {@link #filterByCriteria(ProductFilterDTO)}, but when {@code textMatches} is given the rows are first
+     * restricted to those candidate ids from the text index; the name and description criteria still confirm them.
+     */
+    public static Specification<Product> filterByCriteria(ProductFilterDTO filter, Set<Long> textMatches)
     {
         return (root, query, criteriaBuilder) ->
         {
             Predicate predicate = criteriaBuilder.conjunction();
 
+            if (textMatches != null) {
+                predicate = textMatches.isEmpty() ? criteriaBuilder.disjunction() : criteriaBuilder.and(predicate, root.get("id").in(textMatches));
+            }
+
             if (filter.getName() != null) {
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + filter.getName().toLowerCase() + "%"));
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), containing(filter.getName()), ESCAPE));
             }
 
             if (filter.getDescription() != null) {
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + filter.getDescription().toLowerCase() + "%"));
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), containing(filter.getDescription()), ESCAPE));
             }
 
             if (filter.getMinPrice() != null) {
@@ -42,10 +61,50 @@ public class ProductSpecification {
             if(filter.getCategoryName() != null)
             {
                 Join<Product, Category> categoryJoin = root.join("category");
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(categoryJoin.get("nameCategory")), "%" + filter.getCategoryName().toLowerCase() + "%"));
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(categoryJoin.get("nameCategory")), containing(filter.getCategoryName()), ESCAPE));
             }
 
             return predicate;
         };
     }
+
+    /**
+     * Case-insensitive substring pattern; {@code %} and {@code _} in the text are matched literally, as by
+     * {@code ProductTextIndex} and {@code ProductColumnStore}.
+     */
+    private static String containing(String text)
+    {
+        String escaped = text.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Rows after the cursor position in the order of {@link ProductCursor#toSort()}, where null keys sort lowest.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> seekAfter(ProductCursor cursor)
+    {
+        return (root, query, criteriaBuilder) ->
+        {
+            boolean ascending = cursor.getOrder().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending ? criteriaBuilder.greaterThan(id, cursor.getLastId()) : criteriaBuilder.lessThan(id, cursor.getLastId());
+
+            if ("id".equals(cursor.getOrder().getProperty())) {
+                return idAfter;
+            }
+
+            Path<Comparable> key = root.get(cursor.getOrder().getProperty());
+            Comparable value = cursor.getLastValue();
+            if (value == null) {
+                Predicate nullTie = criteriaBuilder.and(criteriaBuilder.isNull(key), idAfter);
+                // ascending, every non-null key follows the nulls; descending, nothing does
+                return ascending ? criteriaBuilder.or(nullTie, criteriaBuilder.isNotNull(key)) : nullTie;
+            }
+
+            Predicate keyAfter = ascending ? criteriaBuilder.greaterThan(key, value) : criteriaBuilder.lessThan(key, value);
+            Predicate after = criteriaBuilder.or(keyAfter, criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter));
+            return ascending ? after : criteriaBuilder.or(after, criteriaBuilder.isNull(key));
+        };
+    }
 }
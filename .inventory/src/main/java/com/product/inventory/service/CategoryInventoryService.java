@@ -0,0 +1,31 @@
+package com.product.inventory.service;
+
+import com.product.inventory.domain.dto.CategoryInventoryDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryInventoryService {
+
+    /**
+     * Counts a new product in its category; must be called inside the transaction that writes the product.
+     */
+    void recordAdded(Long categoryId, Double price, Long quantity);
+
+    /**
+     * Removes a product, with the values it had before the write, from its category; must be called inside the
+     * transaction that writes the product. An update is recorded as the removal of the old values plus the addition
+     * of the new ones.
+     */
+    void recordRemoved(Long categoryId, Double price, Long quantity);
+
+    List<CategoryInventoryDTO> findAll();
+
+    Optional<CategoryInventoryDTO> findOne(Long categoryId);
+
+    /**
+     * Recomputes every category from the product table and corrects the ones that drifted; returns how many were
+     * corrected.
+     */
+    int reconcile();
+}
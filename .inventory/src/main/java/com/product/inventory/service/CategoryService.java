@@ -1,5 +1,6 @@
 package com.product.inventory.service;
 
+import com.product.inventory.domain.dto.CacheStatsDTO;
 import com.product.inventory.domain.dto.CategoryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,9 +13,18 @@ public interface CategoryService {
 
     Optional<CategoryDTO> findOne(Long id);
 
+    boolean exists(Long id);
+
     Page<CategoryDTO> findAll(Pageable pageable);
 
     CategoryDTO update(CategoryDTO categoryDTO);
 
     void delete(Long id);
+
+    CacheStatsDTO getCacheStats();
+
+    /**
+     * Fills the category cache up to its capacity; returns the number of categories loaded.
+     */
+    int preload();
 }
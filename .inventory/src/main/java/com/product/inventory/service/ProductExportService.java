@@ -0,0 +1,13 @@
+package com.product.inventory.service;
+
+import com.product.inventory.domain.dto.ProductFilterDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    enum Format { NDJSON, CSV }
+
+    void export(ProductFilterDTO productFilterDTO, Format format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.product.inventory.service;
+
+import com.product.inventory.domain.dto.ImportResultDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+public interface ProductImportService {
+
+    ImportResultDTO importProducts(List<ProductDTO> productDTOs);
+
+    /**
+     * Imports one JSON product per line; rows are numbered by line and malformed lines are reported, not fatal.
+     */
+    ImportResultDTO importNdjson(Reader reader) throws IOException;
+}
@@ -1,11 +1,21 @@
 package com.product.inventory.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.product.inventory.domain.dto.CursorPageDTO;
+import com.product.inventory.domain.dto.FilterIndexAdviceDTO;
+import com.product.inventory.domain.dto.ProductBatchDTO;
 import com.product.inventory.domain.dto.ProductDTO;
 import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.domain.dto.StockLevelDTO;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -15,11 +25,49 @@ public interface ProductService {
 
     Optional<ProductDTO> findOne(Long id);
 
+    boolean exists(Long id);
+
+    /**
+     * Current entity version and category name of the product, without loading it. The category is renamed without
+     * touching the product version, so both are needed to tell whether a representation is still current.
+     */
+    Optional<ProductRepository.VersionSnapshot> findVersion(Long id);
+
     Page<ProductDTO> findAll(Pageable pageable);
 
-    ProductDTO update(ProductDTO productDTO);
+    /**
+     * Loads all given products with one query; the result keeps the request order and lists the ids that were not found.
+     */
+    ProductBatchDTO findAllByIds(List<Long> ids);
+
+    /**
+     * Replaces the product state; empty when the product does not exist. A non-null DTO version must match
+     * the stored one.
+     */
+    Optional<ProductDTO> update(ProductDTO productDTO);
+
+    /**
+     * Applies a JSON merge patch (RFC 7386) to the product; empty when the product does not exist.
+     * A non-null {@code expectedVersion} must match the stored version.
+     */
+    Optional<ProductDTO> partialUpdate(Long id, JsonNode mergePatch, Integer expectedVersion) throws JsonProcessingException;
 
     void delete(Long id);
 
+    /**
+     * Adds {@code delta} to the product stock atomically; empty when the product does not exist
+     * or the stock would drop below zero.
+     */
+    Optional<StockLevelDTO> adjustStock(Long id, long delta);
+
     Page<ProductDTO> findAllByFilter(ProductFilterDTO productFilterDTO, Pageable pageable);
+
+    Slice<ProductDTO> findSliceByFilter(ProductFilterDTO productFilterDTO, Pageable pageable);
+
+    CursorPageDTO<ProductDTO> findAllByCursor(ProductFilterDTO productFilterDTO, ProductCursor cursor, int size);
+
+    /**
+     * Filter/sort shapes that ran slower than the configured threshold, with the index that would serve them.
+     */
+    List<FilterIndexAdviceDTO> getFilterIndexAdvice();
 }
@@ -0,0 +1,27 @@
+package com.product.inventory.service;
+
+import com.product.inventory.domain.dto.ReservationDTO;
+
+import java.util.Optional;
+
+public interface StockReservationService {
+
+    /**
+     * Holds stock for a short time; empty when the product does not exist or has not enough sellable stock.
+     */
+    Optional<ReservationDTO> reserve(Long productId, long quantity);
+
+    /**
+     * Turns a reservation into a sale; the stock decrement reaches the database with the next flush. False when the
+     * reservation is unknown or expired, or its sale can no longer be written (product deleted, or earlier committed
+     * sales pending because the stock was lowered elsewhere); the reservation is then released.
+     */
+    boolean commit(String reservationId);
+
+    boolean release(String reservationId);
+
+    /**
+     * Writes committed stock changes to the database.
+     */
+    void flush();
+}
@@ -0,0 +1,180 @@
+package com.product.inventory.service.impl;
+
+import com.product.inventory.concurrency.UsesDatabase;
+import com.product.inventory.domain.dto.CategoryInventoryDTO;
+import com.product.inventory.repository.CategoryInventoryRepository;
+import com.product.inventory.service.CategoryInventoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Product count, stock and stock value per category, kept in the {@code category_inventory} table so that reads cost
+ * one row per category.
+ * <p>
+ * The product write paths record the contribution they add and remove; the deltas are summed per category for the
+ * whole transaction and written just before it commits, with one merge per touched category in category id order, so
+ * a bulk import costs one statement per category and concurrent writers lock rows in the same order. A rolled back
+ * transaction writes nothing. Writes that bypass the service (direct SQL, repository calls in tests) are corrected by
+ * {@link #reconcile()}, which runs every {@code inventory.category-inventory.reconcile-interval}.
+ */
+@Service
+public class CategoryInventoryServiceImpl implements CategoryInventoryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CategoryInventoryServiceImpl.class);
+
+    private final CategoryInventoryRepository categoryInventoryRepository;
+
+    private final TransactionTemplate reconcileTransaction;
+
+    private final Counter corrections;
+
+    public CategoryInventoryServiceImpl(CategoryInventoryRepository categoryInventoryRepository, PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry)
+    {
+        this.categoryInventoryRepository = categoryInventoryRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.corrections = Counter.builder("inventory.category-inventory.corrections")
+                .description("Category inventory rows corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordAdded(Long categoryId, Double price, Long quantity)
+    {
+        this.record(categoryId, 1, price, quantity);
+    }
+
+    @Override
+    public void recordRemoved(Long categoryId, Double price, Long quantity)
+    {
+        this.record(categoryId, -1, price, quantity != null ? -quantity : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public List<CategoryInventoryDTO> findAll()
+    {
+        LOG.debug("Request to get all Category inventories");
+        return this.categoryInventoryRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public Optional<CategoryInventoryDTO> findOne(Long categoryId)
+    {
+        LOG.debug("Request to get Category inventory : {}", categoryId);
+        return this.categoryInventoryRepository.findByCategoryId(categoryId);
+    }
+
+    /**
+     * One short transaction per category, so product writes wait on at most one locked row at a time.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.category-inventory.reconcile-interval:PT1H}",
+            initialDelayString = "${inventory.category-inventory.reconcile-interval:PT1H}")
+    @UsesDatabase
+    public int reconcile()
+    {
+        int corrected = 0;
+        for (Long categoryId : this.categoryInventoryRepository.findCategoryIds()) {
+            try {
+                if (Boolean.TRUE.equals(this.reconcileTransaction.execute(status -> this.categoryInventoryRepository.reconcile(categoryId)))) {
+                    LOG.warn("Category inventory of Category {} drifted from the product table, corrected", categoryId);
+                    this.corrections.increment();
+                    corrected++;
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Reconciling the inventory of Category {} failed, retrying with the next run", categoryId, e);
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Products without a category are not aggregated; missing prices and quantities count as 0.
+     */
+    private void record(Long categoryId, long count, Double price, Long quantity)
+    {
+        if (categoryId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Category inventory changes must be recorded inside a transaction");
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas(this, this.categoryInventoryRepository);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(categoryId, count, quantity != null ? quantity : 0,
+                price != null && quantity != null ? price * quantity : 0.0);
+    }
+
+    private static final class PendingDeltas implements TransactionSynchronization {
+
+        private final Object key;
+
+        private final CategoryInventoryRepository categoryInventoryRepository;
+
+        private final Map<Long, Delta> deltas = new TreeMap<>();
+
+        PendingDeltas(Object key, CategoryInventoryRepository categoryInventoryRepository)
+        {
+            this.key = key;
+            this.categoryInventoryRepository = categoryInventoryRepository;
+        }
+
+        void add(Long categoryId, long count, long quantity, double value)
+        {
+            Delta delta = this.deltas.computeIfAbsent(categoryId, id -> new Delta());
+            delta.count += count;
+            delta.quantity += quantity;
+            delta.value += value;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly)
+        {
+            this.deltas.forEach((categoryId, delta) -> {
+                if (delta.count != 0 || delta.quantity != 0 || delta.value != 0.0) {
+                    this.categoryInventoryRepository.addDeltas(categoryId, delta.count, delta.quantity, delta.value);
+                }
+            });
+            this.deltas.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            TransactionSynchronizationManager.unbindResourceIfPossible(this.key);
+        }
+    }
+
+    private static final class Delta {
+
+        private long count;
+
+        private long quantity;
+
+        private double value;
+    }
+}
@@ -1,18 +1,32 @@
 package com.product.inventory.service.impl;
 
+import com.product.inventory.concurrency.UsesDatabase;
 import com.product.inventory.domain.Category;
+import com.product.inventory.domain.dto.CacheStatsDTO;
 import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.event.CategoryChangedEvent;
 import com.product.inventory.mapper.CategoryMapper;
 import com.product.inventory.repository.CategoryRepository;
 import com.product.inventory.service.CategoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 @Service
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
@@ -22,32 +36,79 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper)
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int cacheMaxSize;
+
+    /**
+     * Bounded LRU of categories by id, shared by the existence check and the lookup on the product write path.
+     */
+    private final Map<Long, CategoryDTO> cache;
+
+    /**
+     * Bumped by every eviction, guarded by {@code cache}; a load is only stored if no eviction happened while it ran,
+     * so a read overlapping a write cannot put the pre-write state back after the write's final eviction.
+     */
+    private long evictionStamp;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    private final AtomicLong cacheEvictions = new AtomicLong();
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper, ApplicationEventPublisher eventPublisher,
+                               @Value("${inventory.category.cache.max-size:1000}") int cacheMaxSize)
     {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
+        this.cacheMaxSize = cacheMaxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CategoryDTO> eldest) {
+                boolean evict = size() > CategoryServiceImpl.this.cacheMaxSize;
+                if (evict) {
+                    CategoryServiceImpl.this.cacheEvictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
     }
 
 
     @Override
+    @UsesDatabase
     public CategoryDTO save(CategoryDTO categoryDTO)
     {
         LOG.debug("Request to save Category : {}", categoryDTO);
         Category category = this.categoryMapper.toEntity(categoryDTO);
         category = this.categoryRepository.save(category);
-        return this.categoryMapper.toDto(category);
+        CategoryDTO result = this.categoryMapper.toDto(category);
+        this.eventPublisher.publishEvent(CategoryChangedEvent.created(result));
+        return result;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @UsesDatabase
     public Optional<CategoryDTO> findOne(Long id)
     {
         LOG.debug("Request to get Category : {}", id);
-        return this.categoryRepository.findById(id).map(ele->this.categoryMapper.toDto(ele));
+        return this.cachedCategory(id).map(ele->this.copy(ele));
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @UsesDatabase
+    public boolean exists(Long id)
+    {
+        return this.cachedCategory(id).isPresent();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @UsesDatabase
     public Page<CategoryDTO> findAll(Pageable pageable)
     {
         LOG.debug("Request to get all Categories");
@@ -55,19 +116,115 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @UsesDatabase
     public CategoryDTO update(CategoryDTO categoryDTO)
     {
         LOG.debug("Request to update Category : {}", categoryDTO);
+        this.evict(categoryDTO.getId());
         Category category = this.categoryMapper.toEntity(categoryDTO);
         category = this.categoryRepository.save(category);
-        return this.categoryMapper.toDto(category);
+        CategoryDTO result = this.categoryMapper.toDto(category);
+        this.eventPublisher.publishEvent(CategoryChangedEvent.updated(result));
+        return result;
     }
 
     @Override
+    @UsesDatabase
     public void delete(Long id)
     {
         LOG.debug("Request to delete Category : {}", id);
+        this.evict(id);
         this.categoryRepository.deleteById(id);
+        this.eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats()
+    {
+        synchronized (this.cache) {
+            return new CacheStatsDTO(this.cache.size(), this.cacheMaxSize, this.cacheHits.get(), this.cacheMisses.get(), this.cacheEvictions.get());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public int preload()
+    {
+        LOG.debug("Request to preload the Category cache");
+        if (this.cacheMaxSize <= 0) {
+            return 0;
+        }
+        long stamp = this.evictionStamp();
+        List<CategoryDTO> categories = this.categoryRepository.findAll(PageRequest.of(0, this.cacheMaxSize, Sort.by("id"))).map(ele->this.categoryMapper.toDto(ele)).getContent();
+        synchronized (this.cache) {
+            if (stamp != this.evictionStamp) {
+                return 0;
+            }
+            categories.forEach(categoryDTO -> this.cache.put(categoryDTO.getId(), categoryDTO));
+        }
+        return categories.size();
+    }
+
+    /**
+     * Evicts again once the writing transaction has finished, so a concurrent read cannot leave the pre-write state cached.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onCategoryChanged(CategoryChangedEvent event)
+    {
+        this.evict(event.getCategoryId());
+    }
+
+    private Optional<CategoryDTO> cachedCategory(Long id)
+    {
+        CategoryDTO cached;
+        long stamp;
+        synchronized (this.cache) {
+            cached = this.cache.get(id);
+            stamp = this.evictionStamp;
+        }
+        if (cached != null) {
+            this.cacheHits.incrementAndGet();
+            return Optional.of(cached);
+        }
+
+        this.cacheMisses.incrementAndGet();
+        Optional<CategoryDTO> loaded = this.categoryRepository.findById(id).map(ele->this.categoryMapper.toDto(ele));
+        loaded.ifPresent(categoryDTO -> {
+            synchronized (this.cache) {
+                if (stamp == this.evictionStamp) {
+                    this.cache.put(id, categoryDTO);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    private void evict(Long id)
+    {
+        if (id == null) {
+            return;
+        }
+        synchronized (this.cache) {
+            this.evictionStamp++;
+            this.cache.remove(id);
+        }
+    }
+
+    private long evictionStamp()
+    {
+        synchronized (this.cache) {
+            return this.evictionStamp;
+        }
+    }
+
+    private CategoryDTO copy(CategoryDTO categoryDTO)
+    {
+        CategoryDTO copy = new CategoryDTO();
+        copy.setId(categoryDTO.getId());
+        copy.setNameCategory(categoryDTO.getNameCategory());
+        return copy;
     }
 
 }
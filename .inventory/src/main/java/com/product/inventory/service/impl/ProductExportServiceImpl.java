@@ -0,0 +1,130 @@
+package com.product.inventory.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.product.inventory.concurrency.UsesDatabase;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.mapper.ProductMapper;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductSpecification;
+import com.product.inventory.service.ProductExportService;
+import com.product.inventory.service.search.ProductTextIndex;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the (filtered) catalog straight from a forward-only result stream; every row is detached once written
+ * so memory use does not grow with the catalog size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "id,name,description,price,quantity,categoryId,categoryName";
+
+    private final ProductRepository productRepository;
+
+    private final ProductMapper productMapper;
+
+    private final ProductTextIndex productTextIndex;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter rowWriter;
+
+    private final int fetchSize;
+
+    public ProductExportServiceImpl(ProductRepository productRepository, ProductMapper productMapper, ProductTextIndex productTextIndex,
+                                    EntityManager entityManager, ObjectMapper objectMapper,
+                                    @Value("${inventory.export.fetch-size:500}") int fetchSize)
+    {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productTextIndex = productTextIndex;
+        this.entityManager = entityManager;
+        this.rowWriter = objectMapper.writerFor(ProductDTO.class).withRootValueSeparator("\n");
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @UsesDatabase
+    public void export(ProductFilterDTO productFilterDTO, Format format, OutputStream outputStream) throws IOException
+    {
+        LOG.debug("Request to export Products as {}", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        SequenceWriter ndjson = format == Format.NDJSON ? this.rowWriter.writeValues(writer) : null;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        boolean written = false;
+        try (Stream<Product> products = this.productRepository.streamAll(
+                ProductSpecification.filterByCriteria(productFilterDTO, this.productTextIndex.match(productFilterDTO.getName(), productFilterDTO.getDescription()).orElse(null)),
+                Sort.by("id"), this.fetchSize)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                written = true;
+                Product product = iterator.next();
+                ProductDTO productDTO = this.productMapper.toDto(product);
+                this.entityManager.detach(product);
+                if (ndjson != null) {
+                    ndjson.write(productDTO);
+                } else {
+                    writeCsvRow(writer, productDTO);
+                }
+            }
+        }
+
+        // the sequence writer only separates rows; end the last one, and leave an empty export empty
+        if (ndjson != null && written) {
+            ndjson.flush();
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, ProductDTO productDTO) throws IOException
+    {
+        writer.write(String.valueOf(productDTO.getId()));
+        writer.write(',');
+        writer.write(csv(productDTO.getName()));
+        writer.write(',');
+        writer.write(csv(productDTO.getDescription()));
+        writer.write(',');
+        writer.write(productDTO.getPrice() != null ? productDTO.getPrice().toString() : "");
+        writer.write(',');
+        writer.write(productDTO.getQuantity() != null ? productDTO.getQuantity().toString() : "");
+        writer.write(',');
+        writer.write(productDTO.getCategory() != null ? String.valueOf(productDTO.getCategory().getId()) : "");
+        writer.write(',');
+        writer.write(productDTO.getCategory() != null ? csv(productDTO.getCategory().getNameCategory()) : "");
+        writer.write('\n');
+    }
+
+    private static String csv(String value)
+    {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
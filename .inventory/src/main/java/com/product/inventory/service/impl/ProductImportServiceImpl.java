@@ -0,0 +1,271 @@
+package com.product.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.product.inventory.concurrency.UsesDatabase;
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ImportErrorDTO;
+import com.product.inventory.domain.dto.ImportResultDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.mapper.CategoryMapper;
+import com.product.inventory.mapper.ProductMapper;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.CategoryInventoryService;
+import com.product.inventory.service.ProductImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Imports products in chunks: every chunk is inserted in its own transaction through Hibernate JDBC batching.
+ * A chunk the database rejects is rolled back and retried row by row, so only the failing rows are reported, each
+ * with its row number and cause. Categories are looked up once per import, and the category inventory aggregates
+ * are updated once per category and chunk.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private final ProductRepository productRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final ProductMapper productMapper;
+
+    private final CategoryMapper categoryMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CategoryInventoryService categoryInventoryService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader rowReader;
+
+    private final int chunkSize;
+
+    public ProductImportServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, ProductMapper productMapper,
+                                    CategoryMapper categoryMapper, Validator validator, EntityManager entityManager,
+                                    ApplicationEventPublisher eventPublisher, CategoryInventoryService categoryInventoryService, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                    @Value("${inventory.import.chunk-size:500}") int chunkSize)
+    {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productMapper = productMapper;
+        this.categoryMapper = categoryMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.categoryInventoryService = categoryInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(ProductDTO.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @UsesDatabase
+    public ImportResultDTO importProducts(List<ProductDTO> productDTOs)
+    {
+        LOG.debug("Request to import {} Products", productDTOs.size());
+        ImportRun run = new ImportRun();
+        int row = 0;
+        for (ProductDTO productDTO : productDTOs) {
+            run.add(++row, productDTO);
+        }
+        return run.finish();
+    }
+
+    @Override
+    @UsesDatabase
+    public ImportResultDTO importNdjson(Reader reader) throws IOException
+    {
+        LOG.debug("Request to import Products from NDJSON");
+        ImportRun run = new ImportRun();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int row = 0;
+        while ((line = lines.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ProductDTO productDTO;
+            try {
+                productDTO = this.rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(row, List.of("Malformed row: " + e.getOriginalMessage()));
+                continue;
+            }
+            run.add(row, productDTO);
+        }
+        return run.finish();
+    }
+
+    private final class ImportRun {
+
+        private final Map<Long, CategoryDTO> categories = new HashMap<>();
+
+        private final Set<Long> missingCategories = new HashSet<>();
+
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        private final List<ProductDTO> chunk = new ArrayList<>();
+
+        private final List<Integer> chunkRows = new ArrayList<>();
+
+        private int imported;
+
+        void add(int row, ProductDTO productDTO)
+        {
+            List<String> messages = validate(productDTO);
+            if (!messages.isEmpty()) {
+                this.reject(row, messages);
+                return;
+            }
+            this.chunk.add(productDTO);
+            this.chunkRows.add(row);
+            if (this.chunk.size() >= chunkSize) {
+                this.flush();
+            }
+        }
+
+        void reject(int row, List<String> messages)
+        {
+            this.errors.add(new ImportErrorDTO(row, messages));
+        }
+
+        ImportResultDTO finish()
+        {
+            this.flush();
+            this.errors.sort(Comparator.comparingInt(ImportErrorDTO::getRow));
+            return new ImportResultDTO(this.imported, this.errors);
+        }
+
+        private void flush()
+        {
+            if (this.chunk.isEmpty()) {
+                return;
+            }
+            this.resolveCategories();
+
+            List<ProductDTO> rows = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            for (int i = 0; i < this.chunk.size(); i++) {
+                ProductDTO productDTO = this.chunk.get(i);
+                if (productDTO.getCategory() != null && this.missingCategories.contains(productDTO.getCategory().getId())) {
+                    this.reject(this.chunkRows.get(i), List.of("There is no category with this id " + productDTO.getCategory().getId()));
+                } else {
+                    rows.add(productDTO);
+                    rowNumbers.add(this.chunkRows.get(i));
+                }
+            }
+            this.chunk.clear();
+            this.chunkRows.clear();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> this.persist(rows));
+                this.imported += rows.size();
+            } catch (RuntimeException e) {
+                LOG.debug("Import chunk of {} rows failed, retrying row by row", rows.size(), e);
+                for (int i = 0; i < rows.size(); i++) {
+                    this.persistRow(rowNumbers.get(i), rows.get(i));
+                }
+            }
+        }
+
+        private void persistRow(int row, ProductDTO productDTO)
+        {
+            // the rolled back chunk may already have assigned them
+            productDTO.setId(null);
+            productDTO.setVersion(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> this.persist(List.of(productDTO)));
+                this.imported++;
+            } catch (RuntimeException e) {
+                LOG.debug("Import row {} failed", row, e);
+                this.reject(row, List.of("Row rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+
+        private void resolveCategories()
+        {
+            Set<Long> unknown = new HashSet<>();
+            for (ProductDTO productDTO : this.chunk) {
+                Long categoryId = productDTO.getCategory() != null ? productDTO.getCategory().getId() : null;
+                if (categoryId != null && !this.categories.containsKey(categoryId) && !this.missingCategories.contains(categoryId)) {
+                    unknown.add(categoryId);
+                }
+            }
+            if (unknown.isEmpty()) {
+                return;
+            }
+            for (Category category : categoryRepository.findAllById(unknown)) {
+                this.categories.put(category.getId(), categoryMapper.toDto(category));
+                unknown.remove(category.getId());
+            }
+            this.missingCategories.addAll(unknown);
+        }
+
+        private void persist(List<ProductDTO> rows)
+        {
+            List<Product> products = new ArrayList<>(rows.size());
+            for (ProductDTO productDTO : rows) {
+                Product product = productMapper.toEntity(productDTO);
+                product.setCategory(productDTO.getCategory() != null ? entityManager.getReference(Category.class, productDTO.getCategory().getId()) : null);
+                products.add(product);
+            }
+            productRepository.saveAll(products);
+            productRepository.flush();
+            entityManager.clear();
+
+            for (int i = 0; i < rows.size(); i++) {
+                ProductDTO productDTO = rows.get(i);
+                productDTO.setId(products.get(i).getId());
+                productDTO.setVersion(products.get(i).getVersion());
+                if (productDTO.getCategory() != null) {
+                    categoryInventoryService.recordAdded(productDTO.getCategory().getId(), productDTO.getPrice(), productDTO.getQuantity());
+                    productDTO.setCategory(this.categories.get(productDTO.getCategory().getId()));
+                }
+                eventPublisher.publishEvent(ProductChangedEvent.created(productDTO));
+            }
+        }
+    }
+
+    private List<String> validate(ProductDTO productDTO)
+    {
+        List<String> messages = new ArrayList<>();
+        if (productDTO.getId() != null) {
+            messages.add("New product cannot have an ID");
+        }
+        if (productDTO.getCategory() != null && productDTO.getCategory().getId() == null) {
+            messages.add("Category id is required");
+        }
+        for (ConstraintViolation<ProductDTO> violation : this.validator.validate(productDTO)) {
+            messages.add(violation.getMessage());
+        }
+        return messages;
+    }
+}
@@ -1,23 +1,57 @@
 package com.product.inventory.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.inventory.concurrency.UsesDatabase;
+import com.product.inventory.domain.Category;
 import com.product.inventory.domain.Product;
 import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.CursorPageDTO;
+import com.product.inventory.domain.dto.FilterIndexAdviceDTO;
+import com.product.inventory.domain.dto.ProductBatchDTO;
 import com.product.inventory.domain.dto.ProductDTO;
 import com.product.inventory.domain.dto.ProductFilterDTO;
-import com.product.inventory.mapper.CategoryMapper;
+import com.product.inventory.domain.dto.StockLevelDTO;
+import com.product.inventory.event.ProductChangedEvent;
 import com.product.inventory.mapper.ProductMapper;
 import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductCursor;
 import com.product.inventory.repository.specification.ProductSpecification;
+import com.product.inventory.service.CategoryInventoryService;
 import com.product.inventory.service.CategoryService;
 import com.product.inventory.service.ProductService;
+import com.product.inventory.service.search.FilterIndexAdvisor;
+import com.product.inventory.service.search.ProductColumnStore;
+import com.product.inventory.service.search.ProductFilterCache;
+import com.product.inventory.service.search.ProductTextIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -31,17 +65,50 @@ public class ProductServiceImpl implements ProductService {
 
     private final CategoryService categoryService;
 
-    private final CategoryMapper categoryMapper;
+    private final CategoryInventoryService categoryInventoryService;
 
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, CategoryService categoryService, CategoryMapper categoryMapper)
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ProductTextIndex productTextIndex;
+
+    private final ProductColumnStore productColumnStore;
+
+    private final ProductFilterCache productFilterCache;
+
+    private final FilterIndexAdvisor filterIndexAdvisor;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter updateConflicts;
+
+    private final Counter patchConflicts;
+
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, CategoryService categoryService, CategoryInventoryService categoryInventoryService,
+                              EntityManager entityManager, ObjectMapper objectMapper, Validator validator, ProductTextIndex productTextIndex, ProductColumnStore productColumnStore, ProductFilterCache productFilterCache, FilterIndexAdvisor filterIndexAdvisor,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry)
     {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
         this.categoryService = categoryService;
-        this.categoryMapper = categoryMapper;
+        this.categoryInventoryService = categoryInventoryService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productTextIndex = productTextIndex;
+        this.productColumnStore = productColumnStore;
+        this.productFilterCache = productFilterCache;
+        this.filterIndexAdvisor = filterIndexAdvisor;
+        this.eventPublisher = eventPublisher;
+        this.updateConflicts = optimisticLockCounter(meterRegistry, "update");
+        this.patchConflicts = optimisticLockCounter(meterRegistry, "patch");
     }
 
     @Override
+    @UsesDatabase
     public ProductDTO save(ProductDTO productDTO)
     {
         LOG.debug("Request to save Product : {}", productDTO);
@@ -53,11 +120,15 @@ public class ProductServiceImpl implements ProductService {
         }
         Product product = this.productMapper.toEntity(productDTO);
         product = this.productRepository.save(product);
-        return productMapper.toDto(product);
+        ProductDTO result = productMapper.toDto(product);
+        this.categoryInventoryService.recordAdded(categoryId(product), product.getPrice(), product.getQuantity());
+        this.eventPublisher.publishEvent(ProductChangedEvent.created(result));
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
+    @UsesDatabase
     public Optional<ProductDTO> findOne(Long id)
     {
         LOG.debug("Request to get Product : {}", id);
@@ -66,6 +137,25 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @UsesDatabase
+    public boolean exists(Long id)
+    {
+        LOG.debug("Request to check existence of Product : {}", id);
+        return this.productRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public Optional<ProductRepository.VersionSnapshot> findVersion(Long id)
+    {
+        LOG.debug("Request to get version of Product : {}", id);
+        return this.productRepository.findVersionSnapshotById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
     public Page<ProductDTO> findAll(Pageable pageable)
     {
         LOG.debug("Request to get all Products");
@@ -73,42 +163,265 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public ProductDTO update(ProductDTO productDTO)
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public ProductBatchDTO findAllByIds(List<Long> ids)
     {
-        LOG.debug("Request to update Product : {}", productDTO);
-        if(productDTO.getCategory() != null)
-        {
-            Optional<CategoryDTO> categoryDTO = this.categoryService.findOne(productDTO.getCategory().getId());
-            if(categoryDTO.isPresent())
-            {
-                productDTO.setCategory(categoryDTO.get());
+        LOG.debug("Request to get Products : {}", ids);
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Product> found = new HashMap<>();
+        for (Product product : this.productRepository.findAllWithCategoryByIdIn(requested)) {
+            found.put(product.getId(), product);
+        }
+
+        List<ProductDTO> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                content.add(this.productMapper.toDto(product));
+            } else {
+                missing.add(id);
             }
         }
-        Optional<Product> product = this.productRepository.findById(productDTO.getId());
-        Product productWithVersion = product.get();
-        productWithVersion.setCategory(this.categoryMapper.toEntity(productDTO.getCategory()));
-        productWithVersion.setId(productDTO.getId());
-        productWithVersion.setName(productDTO.getName());
-        productWithVersion.setDescription(productDTO.getDescription());
-        productWithVersion.setPrice(productDTO.getPrice());
-        productWithVersion.setQuantity(productDTO.getQuantity());
-        productWithVersion = this.productRepository.save(productWithVersion);
+        return new ProductBatchDTO(content, missing);
+    }
 
-        return this.productMapper.toDto(productWithVersion);
+    @Override
+    @UsesDatabase
+    public Optional<ProductDTO> update(ProductDTO productDTO)
+    {
+        LOG.debug("Request to update Product : {}", productDTO);
+        return this.productRepository.findById(productDTO.getId()).map(product -> this.apply(product, productDTO, this.updateConflicts));
     }
 
     @Override
+    @UsesDatabase
+    public Optional<ProductDTO> partialUpdate(Long id, JsonNode mergePatch, Integer expectedVersion) throws JsonProcessingException
+    {
+        LOG.debug("Request to partially update Product : {}, {}", id, mergePatch);
+        Optional<Product> product = this.productRepository.findById(id);
+        if (product.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ProductDTO productDTO = this.productMapper.toDto(product.get());
+        productDTO = this.objectMapper.updateValue(productDTO, mergePatch);
+        productDTO.setId(id);
+        productDTO.setVersion(expectedVersion);
+        Set<ConstraintViolation<ProductDTO>> violations = this.validator.validate(productDTO);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return Optional.of(this.apply(product.get(), productDTO, this.patchConflicts));
+    }
+
+    /**
+     * Copies the DTO onto the loaded product and flushes; with dynamic updates only the changed columns are written.
+     * A changed category is attached by reference, its name comes from the category cache.
+     */
+    private ProductDTO apply(Product product, ProductDTO productDTO, Counter conflicts)
+    {
+        Set<String> changedFields;
+        try {
+            changedFields = this.write(product, productDTO);
+        } catch (OptimisticLockingFailureException e) {
+            conflicts.increment();
+            throw e;
+        }
+
+        productDTO.setId(product.getId());
+        productDTO.setVersion(product.getVersion());
+        this.eventPublisher.publishEvent(ProductChangedEvent.updated(productDTO, changedFields));
+        return productDTO;
+    }
+
+    /**
+     * Returns the names of the fields whose value changed.
+     */
+    private Set<String> write(Product product, ProductDTO productDTO)
+    {
+        if (productDTO.getVersion() != null && !productDTO.getVersion().equals(product.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, product.getId());
+        }
+
+        Long categoryId = productDTO.getCategory() != null ? productDTO.getCategory().getId() : null;
+        Set<String> changedFields = new LinkedHashSet<>();
+        if (!Objects.equals(product.getName(), productDTO.getName())) {
+            changedFields.add("name");
+        }
+        if (!Objects.equals(product.getDescription(), productDTO.getDescription())) {
+            changedFields.add("description");
+        }
+        if (!Objects.equals(product.getPrice(), productDTO.getPrice())) {
+            changedFields.add("price");
+        }
+        if (!Objects.equals(product.getQuantity(), productDTO.getQuantity())) {
+            changedFields.add("quantity");
+        }
+        if (!Objects.equals(product.getCategory() != null ? product.getCategory().getId() : null, categoryId)) {
+            changedFields.add("category");
+        }
+
+        Long oldCategoryId = categoryId(product);
+        Double oldPrice = product.getPrice();
+        Long oldQuantity = product.getQuantity();
+        if (categoryId == null) {
+            product.setCategory(null);
+            productDTO.setCategory(null);
+        } else {
+            if (product.getCategory() == null || !categoryId.equals(product.getCategory().getId())) {
+                product.setCategory(this.entityManager.getReference(Category.class, categoryId));
+            }
+            productDTO.setCategory(this.categoryService.findOne(categoryId).orElse(productDTO.getCategory()));
+        }
+        product.setName(productDTO.getName());
+        product.setDescription(productDTO.getDescription());
+        product.setPrice(productDTO.getPrice());
+        product.setQuantity(productDTO.getQuantity());
+        if (changedFields.contains("price") || changedFields.contains("quantity") || changedFields.contains("category")) {
+            this.categoryInventoryService.recordRemoved(oldCategoryId, oldPrice, oldQuantity);
+            this.categoryInventoryService.recordAdded(categoryId, product.getPrice(), product.getQuantity());
+        }
+        this.productRepository.flush();
+        return changedFields;
+    }
+
+    @Override
+    @UsesDatabase
     public void delete(Long id)
     {
         LOG.debug("Request to delete Product : {}", id);
-        this.productRepository.deleteById(id);
+        this.productRepository.findById(id).ifPresent(product -> {
+            this.categoryInventoryService.recordRemoved(categoryId(product), product.getPrice(), product.getQuantity());
+            this.productRepository.delete(product);
+        });
+        this.eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    @Override
+    @UsesDatabase
+    public Optional<StockLevelDTO> adjustStock(Long id, long delta)
+    {
+        LOG.debug("Request to adjust stock of Product : {} by {}", id, delta);
+        Product product = this.productRepository.findForUpdateById(id).orElse(null);
+        if (product == null || product.getQuantity() == null || product.getQuantity() + delta < 0) {
+            return Optional.empty();
+        }
+        long previous = product.getQuantity();
+        product.setQuantity(previous + delta);
+        this.productRepository.flush();
+        this.categoryInventoryService.recordRemoved(categoryId(product), product.getPrice(), previous);
+        this.categoryInventoryService.recordAdded(categoryId(product), product.getPrice(), product.getQuantity());
+        this.eventPublisher.publishEvent(ProductChangedEvent.stockAdjusted(id, product.getQuantity(), product.getVersion()));
+        return Optional.of(new StockLevelDTO(id, product.getQuantity()));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @UsesDatabase
     public Page<ProductDTO> findAllByFilter(ProductFilterDTO productFilterDTO, Pageable pageable)
     {
         LOG.debug("Request to get all Products using filter");
-        return this.productRepository.findAll(ProductSpecification.filterByCriteria(productFilterDTO), pageable).map(ele->this.productMapper.toDto(ele));
+        Optional<Page<ProductDTO>> cached = this.productFilterCache.get(productFilterDTO, pageable);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long stamp = this.productFilterCache.stamp();
+        long started = System.nanoTime();
+        Page<ProductDTO> page = this.queryByFilter(productFilterDTO, pageable);
+        this.filterIndexAdvisor.record(productFilterDTO, pageable.getSort(), System.nanoTime() - started);
+        this.productFilterCache.put(productFilterDTO, pageable, stamp, page);
+        return page;
+    }
+
+    private Page<ProductDTO> queryByFilter(ProductFilterDTO productFilterDTO, Pageable pageable)
+    {
+        Set<Long> textMatches = this.textMatches(productFilterDTO);
+        Optional<Page<ProductDTO>> inMemory = this.productColumnStore.findPage(productFilterDTO, textMatches, pageable);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        Specification<Product> specification = this.filterSpecification(productFilterDTO, textMatches);
+        // text matches become large id lists: poor query cache keys, so only the structured shapes are cached
+        Page<Product> products = textMatches == null
+                ? this.productRepository.findCachedPage(specification, pageable)
+                : this.productRepository.findAll(specification, pageable);
+        return products.map(ele->this.productMapper.toDto(ele));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public Slice<ProductDTO> findSliceByFilter(ProductFilterDTO productFilterDTO, Pageable pageable)
+    {
+        LOG.debug("Request to get a slice of Products using filter");
+        Set<Long> textMatches = this.textMatches(productFilterDTO);
+        Optional<Page<ProductDTO>> inMemory = this.productColumnStore.findPage(productFilterDTO, textMatches, pageable);
+        if (inMemory.isPresent()) {
+            return new SliceImpl<>(inMemory.get().getContent(), pageable, inMemory.get().hasNext());
+        }
+        long started = System.nanoTime();
+        List<Product> products = this.productRepository.findWindow(this.filterSpecification(productFilterDTO, textMatches), pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        this.filterIndexAdvisor.record(productFilterDTO, pageable.getSort(), System.nanoTime() - started);
+        boolean hasNext = products.size() > pageable.getPageSize();
+        if (hasNext) {
+            products = products.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(products.stream().map(ele->this.productMapper.toDto(ele)).toList(), pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @UsesDatabase
+    public CursorPageDTO<ProductDTO> findAllByCursor(ProductFilterDTO productFilterDTO, ProductCursor cursor, int size)
+    {
+        LOG.debug("Request to get Products after cursor : {}", cursor.getLastId());
+        Specification<Product> specification = this.filterSpecification(productFilterDTO, this.textMatches(productFilterDTO));
+        if (cursor.hasPosition()) {
+            specification = specification.and(ProductSpecification.seekAfter(cursor));
+        }
+
+        long started = System.nanoTime();
+        List<Product> products = this.productRepository.findWindow(specification, cursor.toSort(), 0, size + 1);
+        this.filterIndexAdvisor.record(productFilterDTO, cursor.toSort(), System.nanoTime() - started);
+        String nextCursor = null;
+        if (products.size() > size) {
+            products = products.subList(0, size);
+            nextCursor = cursor.after(products.get(size - 1)).encode();
+        }
+
+        return new CursorPageDTO<>(products.stream().map(ele->this.productMapper.toDto(ele)).toList(), nextCursor, size);
+    }
+
+    @Override
+    public List<FilterIndexAdviceDTO> getFilterIndexAdvice()
+    {
+        LOG.debug("Request to get filter index advice");
+        return this.filterIndexAdvisor.advice();
+    }
+
+    private Set<Long> textMatches(ProductFilterDTO productFilterDTO)
+    {
+        return this.productTextIndex.match(productFilterDTO.getName(), productFilterDTO.getDescription()).orElse(null);
+    }
+
+    private Specification<Product> filterSpecification(ProductFilterDTO productFilterDTO, Set<Long> textMatches)
+    {
+        return ProductSpecification.filterByCriteria(productFilterDTO, textMatches);
+    }
+
+    private static Counter optimisticLockCounter(MeterRegistry meterRegistry, String operation)
+    {
+        return Counter.builder("inventory.product.optimistic-lock.failures")
+                .description("Product writes rejected because of a concurrent modification")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Long categoryId(Product product)
+    {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
     }
 }
@@ -0,0 +1,266 @@
+package com.product.inventory.service.impl;
+
+import com.product.inventory.concurrency.UsesDatabase;
+import com.product.inventory.domain.dto.ReservationDTO;
+import com.product.inventory.domain.dto.StockLevelDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.ProductService;
+import com.product.inventory.service.StockReservationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock reservations for hot products.
+ * <p>
+ * Each product touched by a reservation gets a counter loaded from the database; reservations take stock from it
+ * with a compare-and-set, so requests for the same product never wait on a row lock. Committed reservations are
+ * summed per product and written with one conditional update per product every flush interval.
+ * <p>
+ * Guarantees: a reservation only succeeds while the counter (database stock minus held and committed-but-unflushed
+ * reservations) stays non-negative, so within one node stock is never oversold. If stock lowered elsewhere leaves
+ * too little for the committed sales, they are kept and retried every flush, and commits of the product fail until
+ * the write succeeds. Stock changes made through the
+ * other product endpoints are folded into the counter from their change events; the counter remembers the entity
+ * version it has seen, so events of concurrent transactions that arrive out of order are only applied once and the
+ * newest quantity wins. On restart counters are reloaded
+ * from the database and open reservations are dropped; committed reservations are flushed on shutdown, so only a
+ * crash can lose up to one flush interval of committed decrements. Counters are per node: run a single node
+ * or route a product's reservations to one node.
+ */
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockReservationServiceImpl.class);
+
+    private final ProductRepository productRepository;
+
+    private final ProductService productService;
+
+    private final Duration reservationTtl;
+
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Write of this service in progress on the current thread; its after-commit event runs on the same thread.
+     */
+    private final ThreadLocal<Flush> flushing = new ThreadLocal<>();
+
+    public StockReservationServiceImpl(ProductRepository productRepository, ProductService productService,
+                                       @Value("${inventory.reservation.ttl:PT10M}") Duration reservationTtl)
+    {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.reservationTtl = reservationTtl;
+    }
+
+    @Override
+    @UsesDatabase
+    public Optional<ReservationDTO> reserve(Long productId, long quantity)
+    {
+        LOG.debug("Request to reserve {} of Product : {}", quantity, productId);
+        StockCounter counter = this.counters.computeIfAbsent(productId, this::loadCounter);
+        if (counter == null || !counter.take(quantity)) {
+            return Optional.empty();
+        }
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), productId, quantity, Instant.now().plus(this.reservationTtl));
+        this.reservations.put(reservation.id, reservation);
+        return Optional.of(reservation.toDto());
+    }
+
+    @Override
+    public boolean commit(String reservationId)
+    {
+        LOG.debug("Request to commit Reservation : {}", reservationId);
+        Reservation reservation = this.reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        StockCounter counter = this.counters.get(reservation.productId);
+        if (counter == null || counter.blocked) {
+            if (counter != null) {
+                counter.available.addAndGet(reservation.quantity);
+            }
+            LOG.warn("Reservation {} of Product {} not committed: product deleted or committed sales could not be written", reservationId, reservation.productId);
+            return false;
+        }
+        counter.pending.addAndGet(-reservation.quantity);
+        return true;
+    }
+
+    @Override
+    public boolean release(String reservationId)
+    {
+        LOG.debug("Request to release Reservation : {}", reservationId);
+        Reservation reservation = this.reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        StockCounter counter = this.counters.get(reservation.productId);
+        if (counter != null) {
+            counter.available.addAndGet(reservation.quantity);
+        }
+        return true;
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${inventory.reservation.flush-interval:PT0.5S}")
+    @UsesDatabase
+    public void flush()
+    {
+        for (Map.Entry<Long, StockCounter> entry : this.counters.entrySet()) {
+            StockCounter counter = entry.getValue();
+            long delta = counter.pending.getAndSet(0);
+            if (delta == 0) {
+                continue;
+            }
+            this.flushing.set(new Flush(entry.getKey(), delta));
+            try {
+                Optional<StockLevelDTO> stockLevel = this.productService.adjustStock(entry.getKey(), delta);
+                if (stockLevel.isPresent()) {
+                    counter.blocked = false;
+                } else if (this.productRepository.findQuantityById(entry.getKey()).isEmpty()) {
+                    LOG.warn("Dropping committed reservations of {} for deleted Product {}", delta, entry.getKey());
+                    this.counters.remove(entry.getKey());
+                } else {
+                    // Sales already confirmed to clients are kept and retried; the counter stays, so held
+                    // reservations remain counted, but no further commits are accepted until the write succeeds.
+                    counter.pending.addAndGet(delta);
+                    counter.blocked = true;
+                    LOG.warn("Could not apply committed reservations of {} to Product {}: stock lowered elsewhere, retrying with the next flush", delta, entry.getKey());
+                }
+            } catch (RuntimeException e) {
+                counter.pending.addAndGet(delta);
+                LOG.warn("Flushing reservations of Product {} failed, retrying with the next flush", entry.getKey(), e);
+            } finally {
+                this.flushing.remove();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry-check-interval:PT10S}")
+    public void releaseExpired()
+    {
+        Instant now = Instant.now();
+        for (Reservation reservation : this.reservations.values()) {
+            if (reservation.expiresAt.isBefore(now) && this.release(reservation.id)) {
+                LOG.debug("Reservation {} expired", reservation.id);
+            }
+        }
+    }
+
+    /**
+     * Folds stock changes that did not come from this service into the counters.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event)
+    {
+        StockCounter counter = this.counters.get(event.getProductId());
+        if (counter == null) {
+            return;
+        }
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            this.counters.remove(event.getProductId());
+            return;
+        }
+        if (event.getQuantity() != null) {
+            Flush flush = this.flushing.get();
+            long ownDelta = flush != null && flush.productId.equals(event.getProductId()) ? flush.delta : 0;
+            counter.observeDatabaseQuantity(event.getQuantity(), event.getVersion(), ownDelta);
+        }
+    }
+
+    private StockCounter loadCounter(Long productId)
+    {
+        return this.productRepository.findStockSnapshotById(productId)
+                .map(stock -> new StockCounter(stock.getQuantity(), stock.getVersion()))
+                .orElse(null);
+    }
+
+    private static final class StockCounter {
+
+        /**
+         * Database stock minus held and committed-but-unflushed reservations.
+         */
+        private final AtomicLong available;
+
+        /**
+         * Committed change not yet written to the database (zero or negative).
+         */
+        private final AtomicLong pending = new AtomicLong();
+
+        private long databaseQuantity;
+
+        private int databaseVersion;
+
+        /**
+         * Set while committed sales cannot be written because the database stock is too low; commits are refused.
+         */
+        private volatile boolean blocked;
+
+        StockCounter(Long databaseQuantity, Integer databaseVersion)
+        {
+            this.databaseQuantity = databaseQuantity != null ? databaseQuantity : 0L;
+            this.databaseVersion = databaseVersion != null ? databaseVersion : 0;
+            this.available = new AtomicLong(this.databaseQuantity);
+        }
+
+        boolean take(long quantity)
+        {
+            while (true) {
+                long current = this.available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (this.available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Applies the stock of a committed write. Writes at or below the version already seen are ignored, since the
+         * newer quantity includes them. {@code ownDelta} is the part of the change written by this service, which is
+         * already taken from {@code available}.
+         */
+        synchronized void observeDatabaseQuantity(long quantity, Integer version, long ownDelta)
+        {
+            if (version != null) {
+                if (version <= this.databaseVersion) {
+                    return;
+                }
+                this.databaseVersion = version;
+            }
+            this.available.addAndGet(quantity - this.databaseQuantity - ownDelta);
+            this.databaseQuantity = quantity;
+        }
+    }
+
+    private record Flush(Long productId, long delta) {
+    }
+
+    private record Reservation(String id, Long productId, long quantity, Instant expiresAt) {
+
+        ReservationDTO toDto()
+        {
+            return new ReservationDTO(this.id, this.productId, this.quantity, this.expiresAt);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.product.inventory.service.search;
+
+import com.product.inventory.domain.dto.FilterIndexAdviceDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each product filter shape (the set of filter fields plus the sort) takes, and for the shapes that
+ * ran slower than {@code inventory.filter.slow-threshold} derives the index that would serve them: the category join
+ * column first, then the sort columns, then the range columns. Existing indexes are read from the JDBC metadata, so
+ * the advice also says whether a matching index is already in place.
+ */
+@Component
+public class FilterIndexAdvisor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FilterIndexAdvisor.class);
+
+    private static final int MAX_SHAPES = 500;
+
+    private static final String TABLE = "product";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "name", "name", "description", "description", "price", "price", "quantity", "quantity");
+
+    private final DataSource dataSource;
+
+    private final long slowThresholdNanos;
+
+    private final Map<Shape, Timings> shapes = new ConcurrentHashMap<>();
+
+    public FilterIndexAdvisor(DataSource dataSource, @Value("${inventory.filter.slow-threshold:PT0.1S}") Duration slowThreshold)
+    {
+        this.dataSource = dataSource;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public void record(ProductFilterDTO filter, Sort sort, long nanos)
+    {
+        Shape shape = Shape.of(filter, sort);
+        Timings timings = this.shapes.get(shape);
+        if (timings == null) {
+            if (this.shapes.size() >= MAX_SHAPES) {
+                return;
+            }
+            timings = this.shapes.computeIfAbsent(shape, key -> new Timings());
+        }
+        timings.add(nanos, nanos >= this.slowThresholdNanos);
+    }
+
+    /**
+     * Shapes that ran slowly at least once, most frequently slow first.
+     */
+    public List<FilterIndexAdviceDTO> advice()
+    {
+        Map<String, List<String>> indexes = this.existingIndexes();
+        List<FilterIndexAdviceDTO> advice = new ArrayList<>();
+        this.shapes.forEach((shape, timings) -> {
+            long slow = timings.slow.sum();
+            if (slow == 0) {
+                return;
+            }
+            long executions = timings.executions.sum();
+            List<String> columns = shape.indexColumns();
+            advice.add(new FilterIndexAdviceDTO(shape.criteria, shape.sort, executions, slow,
+                    timings.totalNanos.sum() / 1_000_000.0 / executions, timings.maxNanos.get() / 1_000_000.0,
+                    columns, coveringIndex(indexes, columns)));
+        });
+        advice.sort(Comparator.comparingLong(FilterIndexAdviceDTO::getSlowExecutions).reversed());
+        return advice;
+    }
+
+    private static String coveringIndex(Map<String, List<String>> indexes, List<String> columns)
+    {
+        if (columns.isEmpty()) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            List<String> indexColumns = index.getValue();
+            if (indexColumns.size() >= columns.size() && indexColumns.subList(0, columns.size()).equals(columns)) {
+                return index.getKey();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, List<String>> existingIndexes()
+    {
+        Connection connection = DataSourceUtils.getConnection(this.dataSource);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            Map<String, SortedMap<Short, String>> columnsByIndex = new TreeMap<>();
+            try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+                while (resultSet.next()) {
+                    String index = resultSet.getString("INDEX_NAME");
+                    String column = resultSet.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index.toLowerCase(Locale.ROOT), key -> new TreeMap<>())
+                                .put(resultSet.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            columnsByIndex.forEach((index, columns) -> indexes.put(index, new ArrayList<>(columns.values())));
+            return indexes;
+        } catch (SQLException e) {
+            LOG.warn("Could not read the indexes of table {}", TABLE, e);
+            return Map.of();
+        } finally {
+            DataSourceUtils.releaseConnection(connection, this.dataSource);
+        }
+    }
+
+    private record Shape(List<String> criteria, String sort) {
+
+        static Shape of(ProductFilterDTO filter, Sort sort)
+        {
+            List<String> criteria = new ArrayList<>();
+            if (filter.getName() != null) {
+                criteria.add("name");
+            }
+            if (filter.getDescription() != null) {
+                criteria.add("description");
+            }
+            if (filter.getMinPrice() != null) {
+                criteria.add("minPrice");
+            }
+            if (filter.getMaxPrice() != null) {
+                criteria.add("maxPrice");
+            }
+            if (filter.getMinQuantity() != null) {
+                criteria.add("minQuantity");
+            }
+            if (filter.getMaxQuantity() != null) {
+                criteria.add("maxQuantity");
+            }
+            if (filter.getCategoryName() != null) {
+                criteria.add("categoryName");
+            }
+            String sortKey = sort.stream().map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(";"));
+            return new Shape(List.copyOf(criteria), sortKey);
+        }
+
+        /**
+         * Name, description and category name are substring matches and contribute no column; a sort on a property
+         * outside the product table ends the index, as later columns could no longer be read in order.
+         */
+        List<String> indexColumns()
+        {
+            List<String> columns = new ArrayList<>();
+            if (this.criteria.contains("categoryName")) {
+                columns.add("category_id");
+            }
+            if (!this.sort.isEmpty()) {
+                for (String order : this.sort.split(";")) {
+                    String column = SORT_COLUMNS.get(order.substring(0, order.indexOf(',')));
+                    if (column == null) {
+                        break;
+                    }
+                    if (!columns.contains(column)) {
+                        columns.add(column);
+                    }
+                }
+            }
+            if ((this.criteria.contains("minPrice") || this.criteria.contains("maxPrice")) && !columns.contains("price")) {
+                columns.add("price");
+            }
+            if ((this.criteria.contains("minQuantity") || this.criteria.contains("maxQuantity")) && !columns.contains("quantity")) {
+                columns.add("quantity");
+            }
+            return columns;
+        }
+    }
+
+    private static final class Timings {
+
+        private final LongAdder executions = new LongAdder();
+
+        private final LongAdder slow = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos, boolean slow)
+        {
+            this.executions.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+            if (slow) {
+                this.slow.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.product.inventory.service.search;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.event.CategoryChangedEvent;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional in-process read model answering product filter pages without a database round trip.
+ * Products live in primitive columns indexed by slot; price, quantity and category predicates are
+ * evaluated into a {@link BitSet} of matching slots. Name and description criteria start from the candidates the
+ * caller resolved through {@link ProductTextIndex} and are confirmed against the stored text. Matches are sorted as
+ * primitive slot arrays, with nulls ordered like the database orders them by default: below every value.
+ * Enabled with {@code inventory.columnar.enabled=true}.
+ * <p>
+ * Each slot keeps the entity version of its product; a write event or a row of the startup scan older than the
+ * stored version is ignored, and a product deleted during the scan is not added back from a row read before the
+ * delete.
+ */
+@Component
+public class ProductColumnStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductColumnStore.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final int NO_CATEGORY = -1;
+
+    private static final int NO_VERSION = -1;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "price", "quantity");
+
+    private final ProductRepository productRepository;
+
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final BitSet live = new BitSet();
+
+    private final BitSet quantityNull = new BitSet();
+
+    /**
+     * Products deleted while a rebuild is scanning, {@code null} otherwise.
+     */
+    private Set<Long> deletedDuringRebuild;
+
+    private final Map<Long, Integer> ordinalByCategoryId = new HashMap<>();
+
+    private final List<CategoryDTO> categories = new ArrayList<>();
+
+    private long[] ids = new long[0];
+
+    private String[] names = new String[0];
+
+    private String[] descriptions = new String[0];
+
+    private double[] prices = new double[0];
+
+    private long[] quantities = new long[0];
+
+    private int[] categoryOrdinals = new int[0];
+
+    private int[] versions = new int[0];
+
+    private int size;
+
+    private volatile boolean ready;
+
+    public ProductColumnStore(ProductRepository productRepository, @Value("${inventory.columnar.enabled:false}") boolean enabled)
+    {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild()
+    {
+        if (!this.enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        this.lock.writeLock().lock();
+        try {
+            this.deletedDuringRebuild = new HashSet<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        try {
+            this.productRepository.scanAll(REBUILD_BATCH_SIZE, batch -> {
+                this.lock.writeLock().lock();
+                try {
+                    for (Product product : batch) {
+                        if (this.deletedDuringRebuild.contains(product.getId())) {
+                            continue;
+                        }
+                        CategoryDTO category = null;
+                        if (product.getCategory() != null) {
+                            category = new CategoryDTO();
+                            category.setId(product.getCategory().getId());
+                            category.setNameCategory(product.getCategory().getNameCategory());
+                        }
+                        this.put(product.getId(), product.getVersion(), product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(), category);
+                    }
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            this.lock.writeLock().lock();
+            try {
+                this.deletedDuringRebuild = null;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+        this.ready = true;
+        LOG.debug("Product column store built with {} products in {} ms", this.slotById.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event)
+    {
+        if (!this.enabled) {
+            return;
+        }
+        this.lock.writeLock().lock();
+        try {
+            if (event.getType() == ProductChangedEvent.Type.DELETED) {
+                this.remove(event.getProductId());
+            } else if (event.getType() == ProductChangedEvent.Type.STOCK_ADJUSTED) {
+                this.updateQuantity(event.getProductId(), event.getVersion(), event.getQuantity());
+            } else {
+                ProductDTO product = event.getProduct();
+                this.put(product.getId(), event.getVersion(), product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(), product.getCategory());
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event)
+    {
+        if (!this.enabled || event.getType() != CategoryChangedEvent.Type.UPDATED) {
+            return;
+        }
+        this.lock.writeLock().lock();
+        try {
+            this.categoryOrdinal(event.getCategory());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a filter page from memory, or empty when the store is disabled, still loading, or cannot
+     * evaluate the request (unsupported sort, or name/description criteria without {@code textMatches}).
+     */
+    public Optional<Page<ProductDTO>> findPage(ProductFilterDTO filter, Set<Long> textMatches, Pageable pageable)
+    {
+        if (!this.ready || !this.supports(filter, textMatches, pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            BitSet matches = this.evaluate(filter, textMatches);
+            int[] slots = sort(matches.stream().toArray(), this.comparator(pageable.getSort()));
+
+            List<ProductDTO> content = new ArrayList<>();
+            long end = Math.min(slots.length, pageable.getOffset() + pageable.getPageSize());
+            for (long i = pageable.getOffset(); i < end; i++) {
+                content.add(this.toDto(slots[(int) i]));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, slots.length));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private boolean supports(ProductFilterDTO filter, Set<Long> textMatches, Sort sort)
+    {
+        if (textMatches == null && (filter.getName() != null || filter.getDescription() != null)) {
+            return false;
+        }
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    private BitSet evaluate(ProductFilterDTO filter, Set<Long> textMatches)
+    {
+        BitSet matches;
+        if (textMatches != null) {
+            matches = new BitSet(this.size);
+            for (Long id : textMatches) {
+                Integer slot = this.slotById.get(id);
+                if (slot != null) {
+                    matches.set(slot);
+                }
+            }
+        } else {
+            matches = (BitSet) this.live.clone();
+        }
+
+        double minPrice = filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY;
+        double maxPrice = filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY;
+        boolean priceFilter = filter.getMinPrice() != null || filter.getMaxPrice() != null;
+        long minQuantity = filter.getMinQuantity() != null ? filter.getMinQuantity() : Long.MIN_VALUE;
+        long maxQuantity = filter.getMaxQuantity() != null ? filter.getMaxQuantity() : Long.MAX_VALUE;
+        boolean quantityFilter = filter.getMinQuantity() != null || filter.getMaxQuantity() != null;
+        BitSet categoryMatches = filter.getCategoryName() != null ? this.matchCategories(filter.getCategoryName()) : null;
+        String name = filter.getName() != null ? filter.getName().toLowerCase(Locale.ROOT) : null;
+        String description = filter.getDescription() != null ? filter.getDescription().toLowerCase(Locale.ROOT) : null;
+
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            // NaN prices fail both comparisons, like NULL does in SQL
+            boolean keep = !priceFilter || (this.prices[slot] >= minPrice && this.prices[slot] <= maxPrice);
+            keep &= !quantityFilter || (!this.quantityNull.get(slot) && this.quantities[slot] >= minQuantity && this.quantities[slot] <= maxQuantity);
+            keep &= categoryMatches == null || (this.categoryOrdinals[slot] != NO_CATEGORY && categoryMatches.get(this.categoryOrdinals[slot]));
+            keep &= name == null || contains(this.names[slot], name);
+            keep &= description == null || contains(this.descriptions[slot], description);
+            if (!keep) {
+                matches.clear(slot);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(String text, String needle)
+    {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private BitSet matchCategories(String categoryName)
+    {
+        String needle = categoryName.toLowerCase(Locale.ROOT);
+        BitSet ordinals = new BitSet(this.categories.size());
+        for (int ordinal = 0; ordinal < this.categories.size(); ordinal++) {
+            String name = this.categories.get(ordinal).getNameCategory();
+            if (contains(name, needle)) {
+                ordinals.set(ordinal);
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * Slot order for the sort, ties broken by id. Nulls (a NaN price, an unset quantity) compare below every value,
+     * so they come first ascending and last descending, as in the database.
+     */
+    private SlotComparator comparator(Sort sort)
+    {
+        SlotComparator comparator = null;
+        for (Sort.Order order : sort) {
+            SlotComparator next = switch (order.getProperty()) {
+                case "name" -> (left, right) -> compareNullsFirst(this.names[left], this.names[right]);
+                case "description" -> (left, right) -> compareNullsFirst(this.descriptions[left], this.descriptions[right]);
+                case "price" -> (left, right) -> {
+                    boolean leftNull = Double.isNaN(this.prices[left]);
+                    boolean rightNull = Double.isNaN(this.prices[right]);
+                    return leftNull || rightNull ? Boolean.compare(rightNull, leftNull) : Double.compare(this.prices[left], this.prices[right]);
+                };
+                case "quantity" -> (left, right) -> {
+                    boolean leftNull = this.quantityNull.get(left);
+                    boolean rightNull = this.quantityNull.get(right);
+                    return leftNull || rightNull ? Boolean.compare(rightNull, leftNull) : Long.compare(this.quantities[left], this.quantities[right]);
+                };
+                default -> (left, right) -> Long.compare(this.ids[left], this.ids[right]);
+            };
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        SlotComparator byId = (left, right) -> Long.compare(this.ids[left], this.ids[right]);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static int compareNullsFirst(String left, String right)
+    {
+        if (left == null || right == null) {
+            return Boolean.compare(right == null, left == null);
+        }
+        return left.compareTo(right);
+    }
+
+    /**
+     * Stable bottom-up merge sort of slot numbers; returns the sorted array, which may be a new one.
+     */
+    private static int[] sort(int[] slots, SlotComparator comparator)
+    {
+        int[] source = slots;
+        int[] target = new int[slots.length];
+        for (int width = 1; width < source.length; width *= 2) {
+            for (int from = 0; from < source.length; from += 2 * width) {
+                int middle = Math.min(from + width, source.length);
+                int to = Math.min(from + 2 * width, source.length);
+                int left = from;
+                int right = middle;
+                int out = from;
+                while (left < middle && right < to) {
+                    target[out++] = comparator.compare(source[right], source[left]) < 0 ? source[right++] : source[left++];
+                }
+                while (left < middle) {
+                    target[out++] = source[left++];
+                }
+                while (right < to) {
+                    target[out++] = source[right++];
+                }
+            }
+            int[] sorted = target;
+            target = source;
+            source = sorted;
+        }
+        return source;
+    }
+
+    private ProductDTO toDto(int slot)
+    {
+        ProductDTO product = new ProductDTO();
+        product.setId(this.ids[slot]);
+        product.setVersion(this.versions[slot] != NO_VERSION ? this.versions[slot] : null);
+        product.setName(this.names[slot]);
+        product.setDescription(this.descriptions[slot]);
+        product.setPrice(Double.isNaN(this.prices[slot]) ? null : this.prices[slot]);
+        product.setQuantity(this.quantityNull.get(slot) ? null : this.quantities[slot]);
+        if (this.categoryOrdinals[slot] != NO_CATEGORY) {
+            CategoryDTO stored = this.categories.get(this.categoryOrdinals[slot]);
+            CategoryDTO category = new CategoryDTO();
+            category.setId(stored.getId());
+            category.setNameCategory(stored.getNameCategory());
+            product.setCategory(category);
+        }
+        return product;
+    }
+
+    private void put(Long id, Integer version, String name, String description, Double price, Long quantity, CategoryDTO category)
+    {
+        Integer slot = this.slotById.get(id);
+        if (slot != null && this.isOutdated(slot, version)) {
+            return;
+        }
+        if (slot == null) {
+            slot = this.freeSlots.isEmpty() ? this.size++ : this.freeSlots.pop();
+            this.ensureCapacity(this.size);
+            this.slotById.put(id, slot);
+        }
+        this.ids[slot] = id;
+        this.names[slot] = name;
+        this.descriptions[slot] = description;
+        this.prices[slot] = price != null ? price : Double.NaN;
+        this.quantities[slot] = quantity != null ? quantity : 0L;
+        this.quantityNull.set(slot, quantity == null);
+        this.categoryOrdinals[slot] = category != null && category.getId() != null ? this.categoryOrdinal(category) : NO_CATEGORY;
+        this.versions[slot] = version != null ? version : NO_VERSION;
+        this.live.set(slot);
+    }
+
+    private void updateQuantity(Long id, Integer version, Long quantity)
+    {
+        Integer slot = this.slotById.get(id);
+        if (slot != null && !this.isOutdated(slot, version)) {
+            this.quantities[slot] = quantity != null ? quantity : 0L;
+            this.quantityNull.set(slot, quantity == null);
+            this.versions[slot] = version != null ? version : NO_VERSION;
+        }
+    }
+
+    /**
+     * Whether {@code version} is older than the state held in the slot; unknown versions are never outdated.
+     */
+    private boolean isOutdated(int slot, Integer version)
+    {
+        return version != null && this.versions[slot] != NO_VERSION && version < this.versions[slot];
+    }
+
+    private void remove(Long id)
+    {
+        if (this.deletedDuringRebuild != null) {
+            this.deletedDuringRebuild.add(id);
+        }
+        Integer slot = this.slotById.remove(id);
+        if (slot != null) {
+            this.live.clear(slot);
+            this.names[slot] = null;
+            this.descriptions[slot] = null;
+            this.freeSlots.push(slot);
+        }
+    }
+
+    private int categoryOrdinal(CategoryDTO category)
+    {
+        Integer ordinal = this.ordinalByCategoryId.get(category.getId());
+        CategoryDTO stored = new CategoryDTO();
+        stored.setId(category.getId());
+        stored.setNameCategory(category.getNameCategory());
+        if (ordinal == null) {
+            ordinal = this.categories.size();
+            this.categories.add(stored);
+            this.ordinalByCategoryId.put(category.getId(), ordinal);
+        } else if (category.getNameCategory() != null) {
+            this.categories.set(ordinal, stored);
+        }
+        return ordinal;
+    }
+
+    private void ensureCapacity(int required)
+    {
+        if (required <= this.ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, this.ids.length * 2));
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.names = Arrays.copyOf(this.names, capacity);
+        this.descriptions = Arrays.copyOf(this.descriptions, capacity);
+        this.prices = Arrays.copyOf(this.prices, capacity);
+        this.quantities = Arrays.copyOf(this.quantities, capacity);
+        this.categoryOrdinals = Arrays.copyOf(this.categoryOrdinals, capacity);
+        this.versions = Arrays.copyOf(this.versions, capacity);
+    }
+
+    @FunctionalInterface
+    private interface SlotComparator {
+
+        int compare(int left, int right);
+
+        default SlotComparator reversed()
+        {
+            return (left, right) -> this.compare(right, left);
+        }
+
+        default SlotComparator thenComparing(SlotComparator next)
+        {
+            return (left, right) -> {
+                int result = this.compare(left, right);
+                return result != 0 ? result : next.compare(left, right);
+            };
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.product.inventory.service.search;
+
+import com.product.inventory.domain.dto.CacheStatsDTO;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.event.CategoryChangedEvent;
+import com.product.inventory.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU of product filter pages, keyed by the normalized filter and the page request.
+ * <p>
+ * Entries carry the write stamp that was current when their query started; any product or category write bumps the
+ * stamp, so older entries are never served again and fall out through LRU eviction. The stamp moves both before the
+ * writing transaction commits and after it completes: a read overlapping the commit either starts under the old stamp
+ * and is not stored, or is stored under the intermediate stamp and discarded by the second bump. The second bump runs
+ * after completion, i.e. after the after-commit listeners have updated the text index and column store.
+ * Disabled with {@code inventory.filter.cache.max-size=0}.
+ */
+@Component
+public class ProductFilterCache {
+
+    private final int maxSize;
+
+    private final AtomicLong stamp = new AtomicLong();
+
+    private final Map<Key, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ProductFilterCache(@Value("${inventory.filter.cache.max-size:256}") int maxSize)
+    {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                boolean evict = size() > ProductFilterCache.this.maxSize;
+                if (evict) {
+                    ProductFilterCache.this.evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Write stamp to pass to {@link #put} once the page has been computed; read it before running the query.
+     */
+    public long stamp()
+    {
+        return this.stamp.get();
+    }
+
+    public Optional<Page<ProductDTO>> get(ProductFilterDTO filter, Pageable pageable)
+    {
+        if (this.maxSize <= 0 || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        Entry entry;
+        synchronized (this.cache) {
+            entry = this.cache.get(Key.of(filter, pageable));
+        }
+        if (entry == null || entry.stamp != this.stamp.get()) {
+            this.misses.incrementAndGet();
+            return Optional.empty();
+        }
+        this.hits.incrementAndGet();
+        return Optional.of(new PageImpl<>(entry.page.getContent().stream().map(ProductFilterCache::copy).toList(), pageable, entry.page.getTotalElements()));
+    }
+
+    /**
+     * Stores the page unless a write happened since {@code stamp} was taken.
+     */
+    public void put(ProductFilterDTO filter, Pageable pageable, long stamp, Page<ProductDTO> page)
+    {
+        if (this.maxSize <= 0 || pageable.isUnpaged() || stamp != this.stamp.get()) {
+            return;
+        }
+        Page<ProductDTO> snapshot = new PageImpl<>(page.getContent().stream().map(ProductFilterCache::copy).toList(), pageable, page.getTotalElements());
+        synchronized (this.cache) {
+            this.cache.put(Key.of(filter, pageable), new Entry(stamp, snapshot));
+        }
+    }
+
+    public CacheStatsDTO getCacheStats()
+    {
+        synchronized (this.cache) {
+            return new CacheStatsDTO(this.cache.size(), this.maxSize, this.hits.get(), this.misses.get(), this.evictions.get());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeProductCommit(ProductChangedEvent event)
+    {
+        this.stamp.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterProductCompletion(ProductChangedEvent event)
+    {
+        this.stamp.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCategoryCommit(CategoryChangedEvent event)
+    {
+        this.stamp.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterCategoryCompletion(CategoryChangedEvent event)
+    {
+        this.stamp.incrementAndGet();
+    }
+
+    private static ProductDTO copy(ProductDTO productDTO)
+    {
+        ProductDTO copy = new ProductDTO();
+        copy.setId(productDTO.getId());
+        copy.setName(productDTO.getName());
+        copy.setDescription(productDTO.getDescription());
+        copy.setPrice(productDTO.getPrice());
+        copy.setQuantity(productDTO.getQuantity());
+        copy.setVersion(productDTO.getVersion());
+        if (productDTO.getCategory() != null) {
+            CategoryDTO category = new CategoryDTO();
+            category.setId(productDTO.getCategory().getId());
+            category.setNameCategory(productDTO.getCategory().getNameCategory());
+            copy.setCategory(category);
+        }
+        return copy;
+    }
+
+    private record Entry(long stamp, Page<ProductDTO> page) {
+    }
+
+    /**
+     * Text criteria are matched case-insensitively, so they are keyed in lower case.
+     */
+    private record Key(String name, String description, Double minPrice, Double maxPrice, Long minQuantity, Long maxQuantity,
+                       String categoryName, int page, int size, Sort sort) {
+
+        static Key of(ProductFilterDTO filter, Pageable pageable)
+        {
+            return new Key(lower(filter.getName()), lower(filter.getDescription()), filter.getMinPrice(), filter.getMaxPrice(),
+                    filter.getMinQuantity(), filter.getMaxQuantity(), lower(filter.getCategoryName()),
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        }
+
+        private static String lower(String value)
+        {
+            return value != null ? value.toLowerCase() : null;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.product.inventory.service.search;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory n-gram index over product name and description that narrows name and description filters to candidate
+ * ids. Every token is indexed by all its substrings of up to three characters, so the postings grow linearly with the
+ * text (at most three keys per character) and no copy of the text is kept. A query token of up to three characters
+ * is looked up directly, a longer one through the intersection of its trigrams. The candidates include every product
+ * whose field contains the query ignoring case, but may include others: callers confirm them against the text, as
+ * {@code ProductSpecification} and {@link ProductColumnStore} do.
+ * <p>
+ * The index is built from the database on startup into a new generation that replaces the served one once the scan
+ * is complete, and is kept in sync from committed {@link ProductChangedEvent}s, so writes that bypass
+ * {@code ProductService} are not visible to it. Events go to the served generation and to one being built; both
+ * ignore a product state older than the version they hold, and a product deleted during the scan is not added back
+ * from a row read before the delete.
+ */
+@Component
+public class ProductTextIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductTextIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final int GRAM_LENGTH = 3;
+
+    public enum Field { NAME, DESCRIPTION }
+
+    private final ProductRepository productRepository;
+
+    private final boolean enabled;
+
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Generation current = new Generation();
+
+    private Generation building;
+
+    private volatile boolean ready;
+
+    public ProductTextIndex(ProductRepository productRepository,
+                            @Value("${inventory.search.index.enabled:true}") boolean enabled,
+                            @Value("${inventory.search.index.max-candidates:10000}") int maxCandidates)
+    {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild()
+    {
+        if (!this.enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Generation generation = new Generation();
+        this.lock.writeLock().lock();
+        try {
+            this.building = generation;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        AtomicInteger indexed = new AtomicInteger();
+        try {
+            this.productRepository.scanAll(REBUILD_BATCH_SIZE, batch -> {
+                this.lock.writeLock().lock();
+                try {
+                    for (Product product : batch) {
+                        generation.apply(product.getId(), product.getVersion(), product.getName(), product.getDescription());
+                    }
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                indexed.addAndGet(batch.size());
+            });
+        } catch (RuntimeException e) {
+            this.lock.writeLock().lock();
+            try {
+                this.building = null;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            generation.deleted.clear();
+            this.current = generation;
+            this.building = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        this.ready = true;
+        LOG.debug("Product text index built with {} products and {} keys in {} ms", indexed.get(), generation.keyCount(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event)
+    {
+        if (!this.enabled || event.getType() == ProductChangedEvent.Type.STOCK_ADJUSTED) {
+            return;
+        }
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            this.remove(event.getProductId());
+        } else {
+            ProductDTO product = event.getProduct();
+            this.index(product.getId(), event.getVersion(), product.getName(), product.getDescription());
+        }
+    }
+
+    /**
+     * Candidate ids for the given name and description queries; a {@code null} query does not constrain.
+     * Empty when the index cannot answer (disabled, still building, no usable tokens or too many candidates)
+     * and the caller should fall back to the database predicate.
+     */
+    public Optional<Set<Long>> match(String name, String description)
+    {
+        if (!this.ready || (name == null && description == null)) {
+            return Optional.empty();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            if (name != null) {
+                result = this.current.matchField(Field.NAME, name, null);
+                if (result == null) {
+                    return Optional.empty();
+                }
+            }
+            if (description != null) {
+                result = this.current.matchField(Field.DESCRIPTION, description, result);
+                if (result == null) {
+                    return Optional.empty();
+                }
+            }
+            return result.size() > this.maxCandidates ? Optional.empty() : Optional.of(result);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the product state of entity version {@code version}; a {@code null} version is always applied.
+     */
+    public void index(Long id, Integer version, String name, String description)
+    {
+        this.lock.writeLock().lock();
+        try {
+            this.current.apply(id, version, name, description);
+            if (this.building != null) {
+                this.building.apply(id, version, name, description);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id)
+    {
+        this.lock.writeLock().lock();
+        try {
+            this.current.remove(id);
+            if (this.building != null) {
+                this.building.remove(id);
+                this.building.deleted.add(id);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady()
+    {
+        return this.ready;
+    }
+
+    /**
+     * Number of distinct keys in the served postings, for sizing.
+     */
+    public long keyCount()
+    {
+        this.lock.readLock().lock();
+        try {
+            return this.current.keyCount();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text)
+    {
+        if (text == null) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Keys a query token is looked up by: the token itself when it is short enough to be a key, else its trigrams.
+     */
+    private static Set<String> queryKeys(String token)
+    {
+        if (token.length() <= GRAM_LENGTH) {
+            return Set.of(token);
+        }
+        Set<String> keys = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= token.length(); start++) {
+            keys.add(token.substring(start, start + GRAM_LENGTH));
+        }
+        return keys;
+    }
+
+    private static Set<String> indexKeys(Set<String> tokens)
+    {
+        Set<String> keys = new HashSet<>();
+        for (String token : tokens) {
+            for (int start = 0; start < token.length(); start++) {
+                for (int end = start + 1; end <= Math.min(token.length(), start + GRAM_LENGTH); end++) {
+                    keys.add(token.substring(start, end));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * One complete set of postings; guarded by the index lock.
+     */
+    private static final class Generation {
+
+        private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+
+        private final Map<Field, Map<Long, Set<String>>> keysById = new EnumMap<>(Field.class);
+
+        private final Map<Long, Integer> versionById = new HashMap<>();
+
+        /**
+         * Products deleted while this generation is being built.
+         */
+        private final Set<Long> deleted = new HashSet<>();
+
+        Generation()
+        {
+            for (Field field : Field.values()) {
+                this.postings.put(field, new HashMap<>());
+                this.keysById.put(field, new HashMap<>());
+            }
+        }
+
+        void apply(Long id, Integer version, String name, String description)
+        {
+            if (this.deleted.contains(id)) {
+                return;
+            }
+            Integer indexed = this.versionById.get(id);
+            if (version != null && indexed != null && version <= indexed) {
+                return;
+            }
+            this.replace(Field.NAME, id, name);
+            this.replace(Field.DESCRIPTION, id, description);
+            if (version != null) {
+                this.versionById.put(id, version);
+            }
+        }
+
+        void remove(Long id)
+        {
+            this.replace(Field.NAME, id, null);
+            this.replace(Field.DESCRIPTION, id, null);
+            this.versionById.remove(id);
+        }
+
+        long keyCount()
+        {
+            return this.postings.values().stream().mapToLong(Map::size).sum();
+        }
+
+        Set<Long> matchField(Field field, String query, Set<Long> within)
+        {
+            Set<String> queryTokens = tokenize(query);
+            if (queryTokens.isEmpty()) {
+                return null;
+            }
+
+            Map<String, Set<Long>> fieldPostings = this.postings.get(field);
+            Set<Long> result = within;
+            for (String token : queryTokens) {
+                for (String key : queryKeys(token)) {
+                    Set<Long> ids = fieldPostings.getOrDefault(key, Collections.emptySet());
+                    if (result == null) {
+                        result = new HashSet<>(ids);
+                    } else {
+                        result.retainAll(ids);
+                    }
+                    if (result.isEmpty()) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void replace(Field field, Long id, String text)
+        {
+            Map<String, Set<Long>> fieldPostings = this.postings.get(field);
+            Set<String> previous = this.keysById.get(field).remove(id);
+            if (previous != null) {
+                for (String key : previous) {
+                    Set<Long> ids = fieldPostings.get(key);
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        fieldPostings.remove(key);
+                    }
+                }
+            }
+            Set<String> keys = indexKeys(tokenize(text));
+            if (keys.isEmpty()) {
+                return;
+            }
+            for (String key : keys) {
+                fieldPostings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+            }
+            this.keysById.get(field).put(id, keys);
+        }
+    }
+}
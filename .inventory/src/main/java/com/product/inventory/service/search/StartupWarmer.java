@@ -0,0 +1,88 @@
+package com.product.inventory.service.search;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pre-warms the read paths of a restarted node: the category cache, the Hibernate second-level cache with the most
+ * recent products, and the first listing and filter pages (query cache, filter cache and JIT). It runs on
+ * {@link ApplicationReadyEvent} after the text index and column store rebuilds, so the filter pages it warms are
+ * those they serve; Spring Boot reports the readiness state {@code ACCEPTING_TRAFFIC} only once all of them have
+ * returned, so a readiness probe keeps traffic away until the node is warm. Enabled by
+ * {@code inventory.warmup.products} greater than zero (the {@code persistent} profile).
+ */
+@Component
+public class StartupWarmer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupWarmer.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final CategoryService categoryService;
+
+    private final ProductService productService;
+
+    private final ProductRepository productRepository;
+
+    private final int products;
+
+    public StartupWarmer(CategoryService categoryService, ProductService productService, ProductRepository productRepository,
+                         @Value("${inventory.warmup.products:0}") int products)
+    {
+        this.categoryService = categoryService;
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.products = products;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void warmUp()
+    {
+        if (this.products <= 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            int categories = this.categoryService.preload();
+            int loadedProducts = this.preloadProducts();
+            this.productService.findAll(PageRequest.of(0, PAGE_SIZE));
+            this.productService.findAllByFilter(new ProductFilterDTO(), PageRequest.of(0, PAGE_SIZE));
+            LOG.info("Warm-up loaded {} categories and {} products in {} ms", categories, loadedProducts, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            LOG.warn("Warm-up failed after {} ms, serving cold", System.currentTimeMillis() - started, e);
+        }
+    }
+
+    /**
+     * Loads the newest products, with their categories, into the second-level cache.
+     */
+    private int preloadProducts()
+    {
+        int loaded = 0;
+        while (loaded < this.products) {
+            List<Product> batch = this.productRepository.findWindow(null, Sort.by(Sort.Direction.DESC, "id"), loaded, Math.min(BATCH_SIZE, this.products - loaded));
+            loaded += batch.size();
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,22 @@
+-- Schema as previously generated by Hibernate from the entity mappings
+
+create sequence product_seq start with 1 increment by 50;
+
+create table category (
+    id bigint generated by default as identity,
+    name_category varchar(255),
+    primary key (id),
+    constraint uk_category_name_category unique (name_category)
+);
+
+create table product (
+    id bigint not null,
+    name varchar(255),
+    description varchar(255),
+    price float(53),
+    quantity bigint,
+    category_id bigint,
+    version integer,
+    primary key (id),
+    constraint fk_product_category foreign key (category_id) references category (id)
+);
@@ -0,0 +1,15 @@
+-- Indexes for the ProductSpecification shapes: equality/join column first, then the sort column, then ranges.
+-- Name, description and category name are matched with lower(..) like '%..%' and cannot use a b-tree index;
+-- they are answered by the text index instead.
+
+-- category filter combined with a price range or sort=price; also backs the category foreign key
+create index ix_product_category_price on product (category_id, price);
+
+-- price range filters and sort=price, id keeps the order stable for cursor pages
+create index ix_product_price on product (price, id);
+
+-- quantity range filters (low-stock dashboards) and sort=quantity
+create index ix_product_quantity on product (quantity, id);
+
+-- listing sorted by name
+create index ix_product_name on product (name, id);
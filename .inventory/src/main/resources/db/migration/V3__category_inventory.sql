@@ -0,0 +1,16 @@
+-- Stock, value and product count per category, maintained by the product write paths in the same transaction
+-- and corrected by a periodic reconciliation; value is price * quantity with missing values counted as 0.
+
+create table category_inventory (
+    category_id bigint not null,
+    product_count bigint not null,
+    total_quantity bigint not null,
+    total_value float(53) not null,
+    primary key (category_id),
+    constraint fk_category_inventory_category foreign key (category_id) references category (id) on delete cascade
+);
+
+insert into category_inventory (category_id, product_count, total_quantity, total_value)
+select c.id, count(p.id), coalesce(sum(p.quantity), 0), coalesce(sum(coalesce(p.price, 0) * coalesce(p.quantity, 0)), 0)
+from category c left join product p on p.category_id = c.id
+group by c.id;
@@ -0,0 +1,189 @@
+package com.product.inventory;
+
+import com.product.inventory.concurrency.DatabaseBulkheadAspect;
+import com.product.inventory.domain.Product;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.CategoryService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// the virtual profile's bulkhead settings on a small pool, with platform threads
+@SpringBootTest(properties = {"inventory.bulkhead.enabled=true", "spring.jpa.open-in-view=false", "inventory.bulkhead.max-wait=PT30S",
+        "spring.datasource.hikari.maximum-pool-size=3"})
+@AutoConfigureMockMvc
+public class BulkheadConnectionTest {
+
+    private static final int POOL_SIZE = 3;
+
+    private static final AtomicInteger inUse = new AtomicInteger();
+
+    private static final AtomicInteger maxInUse = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DatabaseBulkheadAspect bulkhead;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long productId;
+
+    @BeforeEach
+    public void setUp() {
+        Product product = new Product();
+        product.setName("Bulkhead product");
+        product.setPrice(1.0);
+        product.setQuantity(1_000_000L);
+        productId = productRepository.save(product).getId();
+        maxInUse.set(inUse.get());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldNotRequestMoreConnectionsThanPermits() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(24);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < 480; i++) {
+            int request = i;
+            statuses.add(executor.submit(() -> switch (request % 4) {
+                case 0 -> mockMvc.perform(get("/api/products?page=0&size=20")).andReturn().getResponse().getStatus();
+                case 1 -> mockMvc.perform(get("/api/products/" + productId)).andReturn().getResponse().getStatus();
+                case 2 -> mockMvc.perform(post("/api/products/" + productId + "/stock")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"delta\":-1}")).andReturn().getResponse().getStatus();
+                // rejected adjustment of a missing product: the controller checks its existence afterwards
+                default -> mockMvc.perform(post("/api/products/" + (productId + 1_000) + "/stock")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"delta\":-1}")).andReturn().getResponse().getStatus();
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        for (int i = 0; i < statuses.size(); i++) {
+            assertEquals(i % 4 == 3 ? 404 : 200, statuses.get(i).get());
+        }
+        assertTrue(maxInUse.get() <= POOL_SIZE, "connections in use at once: " + maxInUse.get());
+    }
+
+    @Test
+    public void shouldNotHoldUpMethodsWithoutDatabaseAccess() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(POOL_SIZE);
+        CountDownLatch leave = new CountDownLatch(1);
+        ProceedingJoinPoint holder = mock(ProceedingJoinPoint.class);
+        when(holder.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            leave.await();
+            return null;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE + 1);
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                executor.submit(() -> {
+                    try {
+                        return bulkhead.limit(holder);
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            // every permit is taken, the cache statistics behind the metrics still answer at once
+            assertNotNull(executor.submit(() -> categoryService.getCacheStats()).get(5, TimeUnit.SECONDS));
+        } finally {
+            leave.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Counts connections from the moment they are requested until they are closed.
+     */
+    @TestConfiguration
+    static class ConnectionTracking {
+
+        @Bean
+        static BeanPostProcessor connectionTrackingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource) ? new TrackingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class TrackingDataSource extends DelegatingDataSource {
+
+        TrackingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            Connection connection;
+            try {
+                connection = super.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                inUse.decrementAndGet();
+                throw e;
+            }
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(TrackingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            inUse.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
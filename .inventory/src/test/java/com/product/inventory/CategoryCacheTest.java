@@ -0,0 +1,150 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.event.CategoryChangedEvent;
+import com.product.inventory.mapper.CategoryMapper;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.service.impl.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CategoryServiceImpl categoryService;
+
+    @BeforeEach
+    public void setUp() {
+        categoryService = new CategoryServiceImpl(categoryRepository, categoryMapper, eventPublisher, 2);
+    }
+
+    @Test
+    public void shouldServeExistsAndFindOneFromCache() {
+        stubCategory(1L, "Electronics");
+
+        assertTrue(categoryService.exists(1L));
+        assertEquals("Electronics", categoryService.findOne(1L).orElseThrow().getNameCategory());
+
+        verify(categoryRepository, times(1)).findById(1L);
+        assertEquals(1, categoryService.getCacheStats().getHits());
+        assertEquals(1, categoryService.getCacheStats().getMisses());
+    }
+
+    @Test
+    public void shouldNotCacheMissingCategories() {
+        when(categoryRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(categoryService.exists(9L));
+        assertFalse(categoryService.exists(9L));
+
+        verify(categoryRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    public void shouldEvictOnDeleteAndWhenFull() {
+        stubCategory(1L, "Electronics");
+        stubCategory(2L, "Garden");
+        stubCategory(3L, "Sport");
+
+        categoryService.exists(1L);
+        categoryService.exists(2L);
+        categoryService.exists(3L);
+        assertEquals(2, categoryService.getCacheStats().getSize());
+        assertEquals(1, categoryService.getCacheStats().getEvictions());
+
+        categoryService.delete(3L);
+        categoryService.exists(3L);
+        verify(categoryRepository, times(2)).findById(3L);
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void shouldNotCacheLoadOverlappingRename() {
+        Category before = category(1L, "Electronics");
+        Category after = category(1L, "Gadgets");
+        // the rename commits and runs its final eviction while the old row is being read
+        when(categoryRepository.findById(1L)).thenAnswer(invocation -> {
+            categoryService.onCategoryChanged(CategoryChangedEvent.updated(categoryDTO(1L, "Gadgets")));
+            return Optional.of(before);
+        }).thenReturn(Optional.of(after));
+        when(categoryMapper.toDto(before)).thenReturn(categoryDTO(1L, "Electronics"));
+        when(categoryMapper.toDto(after)).thenReturn(categoryDTO(1L, "Gadgets"));
+
+        assertEquals("Electronics", categoryService.findOne(1L).orElseThrow().getNameCategory());
+        assertEquals(0, categoryService.getCacheStats().getSize());
+
+        assertEquals("Gadgets", categoryService.findOne(1L).orElseThrow().getNameCategory());
+        assertEquals("Gadgets", categoryService.findOne(1L).orElseThrow().getNameCategory());
+        verify(categoryRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void shouldPreloadUpToCapacity() {
+        Category electronics = category(1L, "Electronics");
+        Category garden = category(2L, "Garden");
+        when(categoryRepository.findAll(PageRequest.of(0, 2, Sort.by("id")))).thenReturn(new PageImpl<>(List.of(electronics, garden)));
+        when(categoryMapper.toDto(electronics)).thenReturn(categoryDTO(1L, "Electronics"));
+        when(categoryMapper.toDto(garden)).thenReturn(categoryDTO(2L, "Garden"));
+
+        assertEquals(2, categoryService.preload());
+
+        assertTrue(categoryService.exists(1L));
+        assertEquals("Garden", categoryService.findOne(2L).orElseThrow().getNameCategory());
+        verify(categoryRepository, never()).findById(any());
+        assertEquals(0, categoryService.getCacheStats().getMisses());
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setNameCategory(name);
+        return category;
+    }
+
+    private static CategoryDTO categoryDTO(Long id, String name) {
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(id);
+        categoryDTO.setNameCategory(name);
+        return categoryDTO;
+    }
+
+    private void stubCategory(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setNameCategory(name);
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(id);
+        categoryDTO.setNameCategory(name);
+        when(categoryRepository.findById(id)).thenReturn(Optional.of(category));
+        when(categoryMapper.toDto(category)).thenReturn(categoryDTO);
+    }
+}
@@ -0,0 +1,126 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.CategoryInventoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.CategoryInventoryService;
+import com.product.inventory.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class CategoryInventoryTest {
+
+    @Autowired
+    private CategoryInventoryService categoryInventoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category tools;
+
+    private Category garden;
+
+    @BeforeEach
+    public void setUp() {
+        tools = categoryRepository.save(category("Tools"));
+        garden = categoryRepository.save(category("Garden"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldFollowProductWrites() {
+        ProductDTO hammer = productService.save(product("Hammer", 10.0, 3L, tools.getId()));
+        productService.save(product("Saw", 25.0, 2L, tools.getId()));
+        assertInventory(tools.getId(), 2, 5, 80.0);
+        assertInventory(garden.getId(), 0, 0, 0.0);
+
+        hammer.setPrice(12.0);
+        hammer = productService.update(hammer).orElseThrow();
+        assertInventory(tools.getId(), 2, 5, 86.0);
+
+        productService.adjustStock(hammer.getId(), -1);
+        assertInventory(tools.getId(), 2, 4, 74.0);
+
+        hammer = productService.findOne(hammer.getId()).orElseThrow();
+        hammer.setCategory(categoryDTO(garden.getId()));
+        productService.update(hammer).orElseThrow();
+        assertInventory(tools.getId(), 1, 2, 50.0);
+        assertInventory(garden.getId(), 1, 2, 24.0);
+
+        productService.delete(hammer.getId());
+        assertInventory(garden.getId(), 0, 0, 0.0);
+        assertEquals(2, categoryInventoryService.findAll().stream().filter(inventory -> inventory.getCategoryId().equals(tools.getId())
+                || inventory.getCategoryId().equals(garden.getId())).count());
+    }
+
+    @Test
+    public void shouldCorrectDriftOnReconcile() {
+        productService.save(product("Hammer", 10.0, 3L, tools.getId()));
+        // written around the service, so the aggregates miss it
+        Product rake = new Product();
+        rake.setName("Rake");
+        rake.setPrice(5.0);
+        rake.setQuantity(4L);
+        rake.setCategory(garden);
+        productRepository.save(rake);
+        assertInventory(garden.getId(), 0, 0, 0.0);
+
+        int corrected = categoryInventoryService.reconcile();
+
+        assertTrue(corrected >= 1, "corrected: " + corrected);
+        assertInventory(tools.getId(), 1, 3, 30.0);
+        assertInventory(garden.getId(), 1, 4, 20.0);
+        assertEquals(0, categoryInventoryService.reconcile());
+    }
+
+    private void assertInventory(Long categoryId, long productCount, long totalQuantity, double totalValue) {
+        CategoryInventoryDTO inventory = categoryInventoryService.findOne(categoryId).orElseThrow();
+        assertEquals(productCount, inventory.getProductCount());
+        assertEquals(totalQuantity, inventory.getTotalQuantity());
+        assertEquals(totalValue, inventory.getTotalValue(), 0.001);
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setNameCategory(name);
+        return category;
+    }
+
+    private static CategoryDTO categoryDTO(Long id) {
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(id);
+        return categoryDTO;
+    }
+
+    private static ProductDTO product(String name, Double price, Long quantity, Long categoryId) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(name);
+        productDTO.setPrice(price);
+        productDTO.setQuantity(quantity);
+        productDTO.setCategory(categoryDTO(categoryId));
+        return productDTO;
+    }
+}
@@ -1,8 +1,8 @@
 package com.product.inventory;
 
 import com.product.inventory.controller.CategoryController;
+import com.product.inventory.domain.dto.CacheStatsDTO;
 import com.product.inventory.domain.dto.CategoryDTO;
-import com.product.inventory.repository.CategoryRepository;
 import com.product.inventory.service.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,9 +35,6 @@ public class CategoryTest {
     @Mock
     private CategoryService categoryService;
 
-    @Mock
-    private CategoryRepository categoryRepository;
-
     @InjectMocks
     private CategoryController categoryController;
 
@@ -136,9 +133,7 @@ public class CategoryTest {
 
         when(categoryService.update(any(CategoryDTO.class))).thenReturn(categoryDTOUpdated);
 
-        when(categoryRepository.existsById(anyLong())).thenReturn(true);
-
-        when(categoryRepository.existsById(anyLong())).thenReturn(true); // Mocking that product with id exists
+        when(categoryService.exists(anyLong())).thenReturn(true); // Mocking that category with id exists
 
         // When & Then: Perform PUT request to update the category
         mockMvc.perform(put("/api/category/1")
@@ -159,4 +154,14 @@ public class CategoryTest {
         mockMvc.perform(delete("/api/category/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void shouldGetCacheStats() throws Exception {
+        when(categoryService.getCacheStats()).thenReturn(new CacheStatsDTO(2, 1000, 3, 1, 0));
+
+        mockMvc.perform(get("/api/category/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(3))
+                .andExpect(jsonPath("$.hitRatio").value(0.75));
+    }
 }
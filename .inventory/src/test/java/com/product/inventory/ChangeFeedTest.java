@@ -0,0 +1,116 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ChangeBatchDTO;
+import com.product.inventory.domain.dto.ChangeDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.event.CategoryChangedEvent;
+import com.product.inventory.event.ChangeFeed;
+import com.product.inventory.event.ChangeStream;
+import com.product.inventory.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeFeedTest {
+
+    private final ChangeFeed changeFeed = new ChangeFeed(3);
+
+    @Test
+    public void shouldResumeAfterLastSeenSequence() {
+        AtomicInteger notified = new AtomicInteger();
+        changeFeed.addListener(notified::incrementAndGet);
+
+        changeFeed.onProductChanged(ProductChangedEvent.updated(product(1L, 4), Set.of("price")));
+        changeFeed.onProductChanged(ProductChangedEvent.updated(product(1L, 4), Set.of()));
+        changeFeed.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 7L, 5));
+        changeFeed.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+
+        assertEquals(3, notified.get());
+        ChangeBatchDTO all = changeFeed.read(changeFeed.epoch(), 0, 10);
+        assertFalse(all.isReset());
+        assertEquals(3, all.getLastSequence());
+        ChangeDTO priceChange = all.getChanges().get(0);
+        assertEquals(ChangeDTO.Entity.PRODUCT, priceChange.getEntity());
+        assertEquals(ChangeDTO.Type.UPDATED, priceChange.getType());
+        assertEquals(4, priceChange.getVersion());
+        assertEquals(Set.of("price"), priceChange.getChangedFields());
+        assertEquals(Set.of("quantity"), all.getChanges().get(1).getChangedFields());
+        assertEquals(ChangeDTO.Entity.CATEGORY, all.getChanges().get(2).getEntity());
+
+        ChangeBatchDTO page = changeFeed.read(changeFeed.epoch(), 1, 1);
+        assertEquals(List.of(2L), page.getChanges().stream().map(ChangeDTO::getSequence).toList());
+        assertEquals(2, page.getLastSequence());
+
+        ChangeBatchDTO upToDate = changeFeed.read(changeFeed.epoch(), 3, 10);
+        assertTrue(upToDate.getChanges().isEmpty());
+        assertEquals(3, upToDate.getLastSequence());
+    }
+
+    @Test
+    public void shouldAskForResetOnceBufferWrappedOrSequenceUnknown() {
+        for (long id = 1; id <= 5; id++) {
+            CategoryDTO category = new CategoryDTO();
+            category.setId(id);
+            changeFeed.onCategoryChanged(CategoryChangedEvent.created(category));
+        }
+
+        assertEquals(List.of(3L, 4L, 5L), changeFeed.read(changeFeed.epoch(), 2, 10).getChanges().stream().map(ChangeDTO::getSequence).toList());
+
+        ChangeBatchDTO wrapped = changeFeed.read(changeFeed.epoch(), 1, 10);
+        assertTrue(wrapped.isReset());
+        assertEquals(5, wrapped.getLastSequence());
+
+        assertTrue(changeFeed.read(changeFeed.epoch(), 9, 10).isReset());
+    }
+
+    @Test
+    public void shouldAskForResetAfterRestart() {
+        changeFeed.onCategoryChanged(CategoryChangedEvent.deleted(1L));
+        ChangeBatchDTO seen = changeFeed.read(null, 0, 10);
+        assertFalse(seen.isReset());
+        assertEquals(1, seen.getLastSequence());
+
+        ChangeFeed restarted = new ChangeFeed(3);
+        restarted.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+        restarted.onCategoryChanged(CategoryChangedEvent.deleted(3L));
+
+        ChangeBatchDTO afterRestart = restarted.read(seen.getEpoch(), seen.getLastSequence(), 10);
+        assertTrue(afterRestart.isReset());
+        assertTrue(afterRestart.getChanges().isEmpty());
+        assertEquals(restarted.epoch(), afterRestart.getEpoch());
+        assertEquals(2, afterRestart.getLastSequence());
+        assertNotEquals(seen.getEpoch(), afterRestart.getEpoch());
+
+        assertTrue(restarted.read(null, 1, 10).isReset());
+        assertEquals(List.of(2L), restarted.read(afterRestart.getEpoch(), 1, 10).getChanges().stream().map(ChangeDTO::getSequence).toList());
+    }
+
+    @Test
+    public void shouldStopDispatchingOnceStreamClosed() {
+        ChangeStream changeStream = new ChangeStream(changeFeed, Duration.ofMinutes(1));
+        changeStream.subscribe(null, null);
+        changeStream.close();
+
+        // the scheduler and committing transactions still call in while the context shuts down
+        assertDoesNotThrow(changeStream::heartbeat);
+        assertDoesNotThrow(() -> changeFeed.onCategoryChanged(CategoryChangedEvent.deleted(2L)));
+        assertDoesNotThrow(() -> changeStream.subscribe(null, null));
+    }
+
+    private static ProductDTO product(Long id, Integer version) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(id);
+        productDTO.setVersion(version);
+        return productDTO;
+    }
+}
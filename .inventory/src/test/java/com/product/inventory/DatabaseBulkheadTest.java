@@ -0,0 +1,71 @@
+package com.product.inventory;
+
+import com.product.inventory.concurrency.BulkheadFullException;
+import com.product.inventory.concurrency.DatabaseBulkheadAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatabaseBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DatabaseBulkheadAspect bulkhead = new DatabaseBulkheadAspect(1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    public void shouldNotTakeSecondPermitForNestedCall() throws Throwable {
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> bulkhead.limit(inner));
+
+        assertEquals("inner", bulkhead.limit(outer));
+        assertEquals(1.0, meterRegistry.get("inventory.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    public void shouldRejectWhenPermitsAreTakenLongerThanMaxWait() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        ProceedingJoinPoint holder = mock(ProceedingJoinPoint.class);
+        when(holder.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            leave.await();
+            return null;
+        });
+        ProceedingJoinPoint waiter = mock(ProceedingJoinPoint.class);
+        when(waiter.getSignature()).thenReturn(mock(Signature.class));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> held = executor.submit(() -> {
+            try {
+                return bulkhead.limit(holder);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> bulkhead.limit(waiter));
+        assertEquals(1.0, meterRegistry.get("inventory.bulkhead.rejected").counter().count());
+
+        leave.countDown();
+        held.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals(1.0, meterRegistry.get("inventory.bulkhead.available").gauge().value());
+    }
+}
@@ -0,0 +1,59 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.dto.FilterIndexAdviceDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.service.search.FilterIndexAdvisor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "inventory.filter.slow-threshold=PT0.05S")
+public class FilterIndexAdvisorTest {
+
+    @Autowired
+    private FilterIndexAdvisor filterIndexAdvisor;
+
+    @Test
+    public void shouldReportSlowShapesWithCoveringOrSuggestedIndex() {
+        ProductFilterDTO priceRange = new ProductFilterDTO();
+        priceRange.setMinPrice(10.0);
+        priceRange.setMaxPrice(20.0);
+        filterIndexAdvisor.record(priceRange, Sort.by(Sort.Direction.DESC, "price"), 80_000_000L);
+        filterIndexAdvisor.record(priceRange, Sort.by(Sort.Direction.DESC, "price"), 1_000_000L);
+
+        ProductFilterDTO categoryStock = new ProductFilterDTO();
+        categoryStock.setCategoryName("tools");
+        categoryStock.setMaxQuantity(5L);
+        categoryStock.setName("drill");
+        filterIndexAdvisor.record(categoryStock, Sort.by("name"), 60_000_000L);
+        filterIndexAdvisor.record(categoryStock, Sort.by("name"), 70_000_000L);
+
+        ProductFilterDTO fast = new ProductFilterDTO();
+        fast.setMinQuantity(1L);
+        filterIndexAdvisor.record(fast, Sort.unsorted(), 1_000_000L);
+
+        List<FilterIndexAdviceDTO> advice = filterIndexAdvisor.advice();
+
+        assertEquals(2, advice.size());
+        FilterIndexAdviceDTO missing = advice.get(0);
+        assertEquals(List.of("name", "maxQuantity", "categoryName"), missing.getCriteria());
+        assertEquals(List.of("category_id", "name", "quantity"), missing.getIndexColumns());
+        assertNull(missing.getCoveringIndex());
+        assertEquals("create index ix_product_category_id_name_quantity on product (category_id, name, quantity)", missing.getSuggestedIndex());
+
+        FilterIndexAdviceDTO covered = advice.get(1);
+        assertEquals("price,desc", covered.getSort());
+        assertEquals(2, covered.getExecutions());
+        assertEquals(1, covered.getSlowExecutions());
+        assertEquals(80.0, covered.getMaxMillis());
+        assertEquals(List.of("price"), covered.getIndexColumns());
+        assertEquals("ix_product_price", covered.getCoveringIndex());
+        assertNull(covered.getSuggestedIndex());
+    }
+}
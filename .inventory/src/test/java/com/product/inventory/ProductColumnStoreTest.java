@@ -0,0 +1,178 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.search.ProductColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductColumnStoreTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductColumnStore productColumnStore;
+
+    @BeforeEach
+    public void setUp() {
+        productColumnStore = new ProductColumnStore(productRepository, true);
+        productColumnStore.rebuild();
+
+        CategoryDTO electronics = category(1L, "Electronics");
+        CategoryDTO garden = category(2L, "Garden");
+        productColumnStore.onProductChanged(ProductChangedEvent.created(product(1L, 100.0, 10L, electronics)));
+        productColumnStore.onProductChanged(ProductChangedEvent.created(product(2L, 250.0, 0L, electronics)));
+        productColumnStore.onProductChanged(ProductChangedEvent.created(product(3L, 40.0, 5L, garden)));
+        productColumnStore.onProductChanged(ProductChangedEvent.created(product(4L, 180.0, 7L, null)));
+    }
+
+    @Test
+    public void shouldFilterByRangesAndCategory() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(50.0);
+        filter.setMinQuantity(1L);
+        filter.setCategoryName("electro");
+
+        Page<ProductDTO> page = productColumnStore.findPage(filter, null, PageRequest.of(0, 10)).orElseThrow();
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(1L, page.getContent().get(0).getId());
+        assertEquals(1, page.getContent().get(0).getVersion());
+        assertEquals("Electronics", page.getContent().get(0).getCategory().getNameCategory());
+    }
+
+    @Test
+    public void shouldSortAndPageInMemory() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMaxPrice(200.0);
+
+        Page<ProductDTO> page = productColumnStore.findPage(filter, null, PageRequest.of(0, 2, Sort.by("price").descending())).orElseThrow();
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(4L, 1L), page.getContent().stream().map(ProductDTO::getId).toList());
+    }
+
+    @Test
+    public void shouldApplyUpdatesDeletesAndTextMatches() {
+        productColumnStore.onProductChanged(ProductChangedEvent.updated(product(3L, 400.0, 5L, category(2L, "Garden"))));
+        productColumnStore.onProductChanged(ProductChangedEvent.deleted(2L));
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(150.0);
+        filter.setName("PRODUCT 3");
+
+        // candidates from the text index are confirmed against the stored name
+        Page<ProductDTO> page = productColumnStore.findPage(filter, Set.of(2L, 3L, 4L), PageRequest.of(0, 10)).orElseThrow();
+
+        assertEquals(List.of(3L), page.getContent().stream().map(ProductDTO::getId).toList());
+    }
+
+    @Test
+    public void shouldSortNullsBelowEveryValue() {
+        productColumnStore.onProductChanged(ProductChangedEvent.created(product(5L, null, null, null)));
+
+        assertEquals(List.of(5L, 3L, 1L, 4L, 2L), ids(productColumnStore.findPage(new ProductFilterDTO(), null, PageRequest.of(0, 10, Sort.by("price"))).orElseThrow()));
+        assertEquals(List.of(2L, 4L, 1L, 3L, 5L), ids(productColumnStore.findPage(new ProductFilterDTO(), null, PageRequest.of(0, 10, Sort.by("price").descending())).orElseThrow()));
+        assertEquals(List.of(5L, 2L, 3L, 4L, 1L), ids(productColumnStore.findPage(new ProductFilterDTO(), null, PageRequest.of(0, 10, Sort.by("quantity"))).orElseThrow()));
+    }
+
+    @Test
+    public void shouldIgnoreOutdatedEvents() {
+        ProductDTO newer = product(3L, 45.0, 5L, category(2L, "Garden"));
+        newer.setVersion(3);
+        productColumnStore.onProductChanged(ProductChangedEvent.updated(newer));
+        // events of earlier commits arriving late
+        productColumnStore.onProductChanged(ProductChangedEvent.updated(product(3L, 400.0, 5L, category(2L, "Garden"))));
+        productColumnStore.onProductChanged(ProductChangedEvent.stockAdjusted(3L, 9L, 2));
+
+        ProductDTO stored = productColumnStore.findPage(new ProductFilterDTO(), Set.of(3L), PageRequest.of(0, 10)).orElseThrow().getContent().get(0);
+        assertEquals(45.0, stored.getPrice());
+        assertEquals(5L, stored.getQuantity());
+        assertEquals(3, stored.getVersion());
+    }
+
+    @Test
+    public void shouldKeepWritesCommittedDuringRebuild() {
+        ProductColumnStore rebuilt = new ProductColumnStore(productRepository, true);
+        doAnswer(invocation -> {
+            Consumer<List<Product>> consumer = invocation.getArgument(1);
+            // both writes commit after the scan read the rows
+            rebuilt.onProductChanged(ProductChangedEvent.deleted(5L));
+            ProductDTO restocked = product(6L, 10.0, 20L, null);
+            restocked.setVersion(2);
+            rebuilt.onProductChanged(ProductChangedEvent.updated(restocked));
+            consumer.accept(List.of(entity(5L, 1, 1L), entity(6L, 1, 1L)));
+            return null;
+        }).when(productRepository).scanAll(anyInt(), any());
+
+        rebuilt.rebuild();
+
+        Page<ProductDTO> page = rebuilt.findPage(new ProductFilterDTO(), null, PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(List.of(6L), ids(page));
+        assertEquals(20L, page.getContent().get(0).getQuantity());
+    }
+
+    @Test
+    public void shouldDeclineUnsupportedRequests() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName("phone");
+
+        assertEquals(Optional.empty(), productColumnStore.findPage(filter, null, PageRequest.of(0, 10)));
+        assertTrue(productColumnStore.findPage(new ProductFilterDTO(), null, PageRequest.of(0, 10, Sort.by("category.nameCategory"))).isEmpty());
+    }
+
+    private static CategoryDTO category(Long id, String name) {
+        CategoryDTO category = new CategoryDTO();
+        category.setId(id);
+        category.setNameCategory(name);
+        return category;
+    }
+
+    private static List<Long> ids(Page<ProductDTO> page) {
+        return page.getContent().stream().map(ProductDTO::getId).toList();
+    }
+
+    private static Product entity(Long id, Integer version, Long quantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setVersion(version);
+        product.setName("Product " + id);
+        product.setPrice(10.0);
+        product.setQuantity(quantity);
+        return product;
+    }
+
+    private static ProductDTO product(Long id, Double price, Long quantity, CategoryDTO category) {
+        ProductDTO product = new ProductDTO();
+        product.setId(id);
+        product.setVersion(1);
+        product.setName("Product " + id);
+        product.setDescription("Description " + id);
+        product.setPrice(price);
+        product.setQuantity(quantity);
+        product.setCategory(category);
+        return product;
+    }
+}
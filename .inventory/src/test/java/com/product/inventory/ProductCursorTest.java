@@ -0,0 +1,87 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CursorPageDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductCursor;
+import com.product.inventory.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// the filter result cache would hide the seek queries, switch it off
+@SpringBootTest(properties = "inventory.filter.cache.max-size=0")
+public class ProductCursorTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    public void setUp() {
+        // few distinct keys, nulls among them, so most pages end inside a run of ties
+        for (int i = 0; i < 12; i++) {
+            Product product = new Product();
+            product.setName(i % 2 == 0 ? "Cable" : "Adapter");
+            product.setDescription(i % 3 == 0 ? null : "bulk " + (i % 3));
+            product.setPrice(i % 4 == 0 ? null : (double) (i % 2));
+            product.setQuantity((long) (i % 3));
+            productRepository.save(product);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldVisitEveryRowOnceOnTiedAndNullKeys() {
+        assertTraversal("price", Product::getPrice);
+        assertTraversal("description", Product::getDescription);
+        assertTraversal("name", Product::getName);
+        assertTraversal("quantity", Product::getQuantity);
+    }
+
+    private <T extends Comparable<T>> void assertTraversal(String property, Function<Product, T> key) {
+        Comparator<Product> ascending = Comparator.comparing(key, Comparator.nullsFirst(Comparator.<T>naturalOrder()))
+                .thenComparing(Product::getId);
+        List<Long> expected = productRepository.findAll().stream().sorted(ascending).map(Product::getId).toList();
+
+        assertEquals(expected, traverse(Sort.by(property)), "ascending " + property);
+        List<Long> reversed = new ArrayList<>(expected);
+        Collections.reverse(reversed);
+        assertEquals(reversed, traverse(Sort.by(property).descending()), "descending " + property);
+    }
+
+    private List<Long> traverse(Sort sort) {
+        List<Long> visited = new ArrayList<>();
+        ProductCursor cursor = ProductCursor.first(sort);
+        while (true) {
+            CursorPageDTO<ProductDTO> page = productService.findAllByCursor(new ProductFilterDTO(), cursor, PAGE_SIZE);
+            page.getContent().forEach(product -> visited.add(product.getId()));
+            if (page.getNextCursor() == null) {
+                return visited;
+            }
+            // through the token, as a client would
+            cursor = ProductCursor.decode(page.getNextCursor());
+        }
+    }
+}
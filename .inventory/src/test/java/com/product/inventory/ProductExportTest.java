@@ -0,0 +1,135 @@
+package com.product.inventory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProductExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private ProductDTO hose;
+
+    private ProductDTO sign;
+
+    private ProductDTO hammer;
+
+    private Category garden;
+
+    @BeforeEach
+    public void setUp() {
+        garden = categoryRepository.save(category("Garden, outdoor"));
+        Category tools = categoryRepository.save(category("Tools"));
+        hose = productService.save(product("Hose, 20m", "Green", 12.5, 3L, garden.getId()));
+        sign = productService.save(product("Sign", "Says \"keep off\"\nsecond line", 4.0, 10L, garden.getId()));
+        hammer = productService.save(product("Hammer", "Steel", 20.0, 1L, tools.getId()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldQuoteAndEscapeCsvFields() throws Exception {
+        String csv = export("/api/products/export?format=csv&categoryName=garden");
+
+        assertEquals("id,name,description,price,quantity,categoryId,categoryName\n"
+                + hose.getId() + ",\"Hose, 20m\",Green,12.5,3," + garden.getId() + ",\"Garden, outdoor\"\n"
+                + sign.getId() + ",Sign,\"Says \"\"keep off\"\"\nsecond line\",4.0,10," + garden.getId() + ",\"Garden, outdoor\"\n", csv);
+    }
+
+    @Test
+    public void shouldWriteOneJsonObjectPerLine() throws Exception {
+        String ndjson = export("/api/products/export");
+
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        assertEquals(hose.getId(), objectMapper.readTree(lines[0]).get("id").asLong());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(sign.getId(), second.get("id").asLong());
+        assertEquals("Says \"keep off\"\nsecond line", second.get("description").asText());
+        assertEquals("Hammer", objectMapper.readTree(lines[2]).get("name").asText());
+    }
+
+    @Test
+    public void shouldHonourFilterParameters() throws Exception {
+        String ndjson = export("/api/products/export?format=ndjson&minPrice=10&maxQuantity=5&name=h");
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(hose.getId(), objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(hammer.getId(), objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    public void shouldWriteNothingForEmptyResult() throws Exception {
+        assertEquals("", export("/api/products/export?name=nothing-matches"));
+        assertEquals("id,name,description,price,quantity,categoryId,categoryName\n", export("/api/products/export?format=csv&name=nothing-matches"));
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setNameCategory(name);
+        return category;
+    }
+
+    private static ProductDTO product(String name, String description, Double price, Long quantity, Long categoryId) {
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(categoryId);
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(description);
+        productDTO.setPrice(price);
+        productDTO.setQuantity(quantity);
+        productDTO.setCategory(categoryDTO);
+        return productDTO;
+    }
+}
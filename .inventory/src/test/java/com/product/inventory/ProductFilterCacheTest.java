@@ -0,0 +1,89 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.service.search.ProductFilterCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProductFilterCacheTest {
+
+    private final ProductFilterCache productFilterCache = new ProductFilterCache(2);
+
+    @Test
+    public void shouldServeEquivalentFiltersFromOneEntry() {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("price"));
+        productFilterCache.put(filter("Phone", 10.0), pageRequest, productFilterCache.stamp(), page(pageRequest, "Phone X"));
+
+        Page<ProductDTO> cached = productFilterCache.get(filter("pHONE", 10.0), PageRequest.of(0, 10, Sort.by("price"))).orElseThrow();
+        assertEquals("Phone X", cached.getContent().get(0).getName());
+        assertEquals(1, cached.getTotalElements());
+
+        cached.getContent().get(0).setName("changed");
+        assertEquals("Phone X", productFilterCache.get(filter("phone", 10.0), pageRequest).orElseThrow().getContent().get(0).getName());
+
+        assertFalse(productFilterCache.get(filter("phone", 11.0), pageRequest).isPresent());
+        assertFalse(productFilterCache.get(filter("phone", 10.0), PageRequest.of(1, 10, Sort.by("price"))).isPresent());
+        assertFalse(productFilterCache.get(filter("phone", 10.0), PageRequest.of(0, 10, Sort.by("name"))).isPresent());
+    }
+
+    @Test
+    public void shouldNeverServePagesOlderThanLastWrite() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        long before = productFilterCache.stamp();
+        productFilterCache.put(filter("a", null), pageRequest, before, page(pageRequest, "A"));
+
+        productFilterCache.beforeProductCommit(ProductChangedEvent.deleted(1L));
+        assertFalse(productFilterCache.get(filter("a", null), pageRequest).isPresent());
+
+        // computed while the write was committing: stored, but superseded once the transaction completes
+        long committing = productFilterCache.stamp();
+        productFilterCache.put(filter("a", null), pageRequest, committing, page(pageRequest, "A"));
+        assertTrue(productFilterCache.get(filter("a", null), pageRequest).isPresent());
+        productFilterCache.afterProductCompletion(ProductChangedEvent.deleted(1L));
+        assertFalse(productFilterCache.get(filter("a", null), pageRequest).isPresent());
+
+        // started before the write: not stored at all
+        productFilterCache.put(filter("a", null), pageRequest, before, page(pageRequest, "A"));
+        assertFalse(productFilterCache.get(filter("a", null), pageRequest).isPresent());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPage() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        long stamp = productFilterCache.stamp();
+        productFilterCache.put(filter("a", null), pageRequest, stamp, page(pageRequest, "A"));
+        productFilterCache.put(filter("b", null), pageRequest, stamp, page(pageRequest, "B"));
+        productFilterCache.get(filter("a", null), pageRequest);
+        productFilterCache.put(filter("c", null), pageRequest, stamp, page(pageRequest, "C"));
+
+        assertTrue(productFilterCache.get(filter("a", null), pageRequest).isPresent());
+        assertFalse(productFilterCache.get(filter("b", null), pageRequest).isPresent());
+        assertTrue(productFilterCache.get(filter("c", null), pageRequest).isPresent());
+        assertEquals(1, productFilterCache.getCacheStats().getEvictions());
+    }
+
+    private static ProductFilterDTO filter(String name, Double minPrice) {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName(name);
+        filter.setMinPrice(minPrice);
+        return filter;
+    }
+
+    private static Page<ProductDTO> page(PageRequest pageRequest, String name) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        productDTO.setName(name);
+        return new PageImpl<>(List.of(productDTO), pageRequest, 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.dto.ChangeDTO;
+import com.product.inventory.domain.dto.ImportResultDTO;
+import com.product.inventory.event.ChangeFeed;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.ProductImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "inventory.import.chunk-size=2")
+public class ProductImportTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldImportValidRowsAndReportInvalidOnes() throws Exception {
+        Category category = new Category();
+        category.setNameCategory("Import");
+        category = categoryRepository.save(category);
+
+        String ndjson = String.join("\n",
+                "{\"name\":\"A\",\"description\":\"first\",\"price\":1.5,\"quantity\":1,\"category\":{\"id\":" + category.getId() + "}}",
+                "{\"name\":\"B\",\"description\":\"second\",\"price\":\"2\",\"quantity\":1}",
+                "",
+                "{\"name\":\"\",\"description\":\"fourth\",\"price\":4.0,\"quantity\":1}",
+                "{\"name\":\"E\",\"description\":\"fifth\",\"price\":5.0,\"quantity\":5,\"category\":{\"id\":999999}}",
+                "{\"name\":\"F\",\"description\":\"sixth\",\"price\":6.0,\"quantity\":6}",
+                "{\"name\":\"G\",\"description\":\"seventh\",\"price\":7.0,\"quantity\":7,\"category\":{\"id\":" + category.getId() + "}}");
+
+        ImportResultDTO result = productImportService.importNdjson(new StringReader(ndjson));
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals(4, result.getErrors().get(1).getRow());
+        assertEquals(5, result.getErrors().get(2).getRow());
+        assertTrue(result.getErrors().get(2).getMessages().get(0).contains("999999"));
+        assertEquals(3, productRepository.count());
+    }
+
+    @Test
+    public void shouldRejectOnlyTheRowsTheDatabaseRefuses() throws Exception {
+        long head = changeFeed.head();
+        // valid for the DTO, too long for the description column
+        String tooLong = "x".repeat(300);
+        String ndjson = String.join("\n",
+                "{\"name\":\"A\",\"description\":\"first\",\"price\":1.0,\"quantity\":1}",
+                "{\"name\":\"B\",\"description\":\"" + tooLong + "\",\"price\":2.0,\"quantity\":2}",
+                "{\"name\":\"C\",\"description\":\"third\",\"price\":3.0,\"quantity\":3}");
+
+        ImportResultDTO result = productImportService.importNdjson(new StringReader(ndjson));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessages().get(0).startsWith("Row rolled back"));
+        assertEquals(2, productRepository.count());
+
+        List<ChangeDTO> changes = changeFeed.read(changeFeed.epoch(), head, 10).getChanges();
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(change -> change.getVersion() != null));
+    }
+}
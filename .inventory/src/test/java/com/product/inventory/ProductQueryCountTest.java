@@ -0,0 +1,128 @@
+package com.product.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.metrics.StatementCounter;
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.ProductService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+public class ProductQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+
+    @BeforeEach
+    public void setUp() {
+        for (int c = 0; c < 5; c++) {
+            Category category = new Category();
+            category.setNameCategory("Category " + c);
+            entityManager.persist(category);
+
+            for (int p = 0; p < 10; p++) {
+                Product product = new Product();
+                product.setName("Product " + c + "-" + p);
+                product.setDescription("Description " + p);
+                product.setPrice(10.0 + p);
+                product.setQuantity((long) p);
+                product.setCategory(category);
+                entityManager.persist(product);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldLoadPageWithCategoriesInBoundedStatements() {
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            Page<ProductDTO> page = productService.findAll(PageRequest.of(1, PAGE_SIZE, Sort.by("id")));
+
+            assertEquals(PAGE_SIZE, page.getContent().size());
+            assertTrue(page.getContent().stream().allMatch(product -> product.getCategory().getNameCategory() != null));
+            // one select for the page, one count
+            assertTrue(statements.count() <= 2, "statements: " + statements.count());
+        }
+    }
+
+    @Test
+    public void shouldLoadFilteredPageWithCategoriesInBoundedStatements() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setCategoryName("category");
+        filter.setMinPrice(12.0);
+
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            Page<ProductDTO> page = productService.findAllByFilter(filter, PageRequest.of(0, PAGE_SIZE, Sort.by("price")));
+
+            assertEquals(PAGE_SIZE, page.getContent().size());
+            assertTrue(page.getContent().stream().allMatch(product -> product.getCategory().getNameCategory() != null));
+            assertTrue(statements.count() <= 2, "statements: " + statements.count());
+        }
+    }
+
+    @Test
+    public void shouldLoadFilterPageOfFiftyWithoutRepeatedSelects() {
+        try (StatementCounter.Scope statements = StatementCounter.open("findAllByFilter", 2)) {
+            Page<ProductDTO> page = productService.findAllByFilter(new ProductFilterDTO(), PageRequest.of(0, 50, Sort.by("name")));
+
+            assertEquals(50, page.getContent().size());
+            page.getContent().forEach(product -> assertTrue(product.getCategory().getNameCategory() != null));
+            assertTrue(statements.count() <= 2, "statements: " + statements.count());
+            assertTrue(statements.repeatedSelects().isEmpty(), "repeated: " + statements.repeatedSelects());
+        }
+    }
+
+    @Test
+    public void shouldLoadSliceWithCategoriesInOneStatement() {
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            productService.findSliceByFilter(new ProductFilterDTO(), PageRequest.of(2, PAGE_SIZE, Sort.by("id")));
+
+            assertEquals(1, statements.count());
+        }
+    }
+
+    @Test
+    public void shouldPatchProductWithOneSelectAndOneUpdate() throws Exception {
+        ProductDTO product = productService.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0);
+        categoryService.exists(product.getCategory().getId());
+        entityManager.clear();
+
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            ProductDTO patched = productService.partialUpdate(product.getId(), objectMapper.readTree("{\"price\":99.5}"), null).orElseThrow();
+
+            assertEquals(99.5, patched.getPrice());
+            assertEquals(product.getCategory().getNameCategory(), patched.getCategory().getNameCategory());
+            assertEquals(product.getVersion() + 1, patched.getVersion());
+            // one select for the product, one update of the changed column
+            assertEquals(2, statements.count());
+        }
+    }
+}
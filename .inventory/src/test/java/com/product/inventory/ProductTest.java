@@ -4,10 +4,13 @@ import com.product.inventory.controller.ProductController;
 import com.product.inventory.domain.Category;
 import com.product.inventory.domain.Product;
 import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.CursorPageDTO;
+import com.product.inventory.domain.dto.ProductBatchDTO;
 import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.StockLevelDTO;
 import com.product.inventory.mapper.ProductMapper;
-import com.product.inventory.repository.CategoryRepository;
 import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductCursor;
 import com.product.inventory.service.CategoryService;
 import com.product.inventory.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,15 +23,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,12 +53,6 @@ public class ProductTest {
     @Mock
     private CategoryService categoryService;
 
-    @Mock
-    private ProductRepository productRepository;
-
-    @Mock
-    private CategoryRepository categoryRepository;
-
     @InjectMocks
     private ProductController productController;
 
@@ -97,7 +100,7 @@ public class ProductTest {
         savedProductDto.setCategory(categoryDTO);
 
         when(productService.save(any(ProductDTO.class))).thenReturn(savedProductDto);
-        when(categoryRepository.existsById(any(Long.class))).thenReturn(true);
+        when(categoryService.exists(any(Long.class))).thenReturn(true);
 
         // When & Then
         mockMvc.perform(post("/api/products")
@@ -221,17 +224,14 @@ public class ProductTest {
         updatedProduct.setCategory(categoryDTO);
 
         // Mock the productService's update method
-        when(productService.update(any(ProductDTO.class))).thenReturn(updatedProduct);
+        when(productService.update(any(ProductDTO.class))).thenReturn(Optional.of(updatedProduct));
 
-        // Mock the categoryRepository.existsById check (this is part of the validation)
-        when(categoryRepository.existsById(anyLong())).thenReturn(true); // Mocking that category with id exists
+        // Mock the categoryService.exists check (this is part of the validation)
+        when(categoryService.exists(anyLong())).thenReturn(true); // Mocking that category with id exists
 
         // Mock categoryService.findOne to return categoryDTO when searching by ID
         //when(categoryService.findOne(anyLong())).thenReturn(Optional.of(categoryDTO));
 
-        // Mock productRepository.existsById to ensure the product exists in the database
-        when(productRepository.existsById(anyLong())).thenReturn(true); // Mocking that product with id exists
-
         // When & Then: Perform PUT request to update the product
         mockMvc.perform(put("/api/products/1") // Make sure the ID in URL is 1
                         .contentType(MediaType.APPLICATION_JSON)
@@ -255,5 +255,210 @@ public class ProductTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    public void shouldGetProductsByCursor() throws Exception {
+        // Given
+        ProductDTO product1 = new ProductDTO();
+        product1.setId(1L);
+        product1.setName("Product 1");
+
+        Product last = new Product();
+        last.setId(1L);
+        last.setPrice(100.0);
+        String nextCursor = ProductCursor.first(Sort.by("price")).after(last).encode();
+
+        when(productService.findAllByCursor(any(), any(ProductCursor.class), eq(1)))
+                .thenReturn(new CursorPageDTO<>(List.of(product1), nextCursor, 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/cursor")
+                        .param("size", "1")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    public void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/products/filter/cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldGetSliceWithoutCountWhenRequested() throws Exception {
+        // Given
+        ProductDTO product1 = new ProductDTO();
+        product1.setId(1L);
+        product1.setName("Product 1");
+
+        Pageable pageable = PageRequest.of(0, 1);
+        when(productService.findSliceByFilter(any(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(product1), pageable, true));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/filter")
+                        .param("size", "1")
+                        .param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(productService, never()).findAllByFilter(any(), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldAdjustStock() throws Exception {
+        when(productService.adjustStock(1L, -3L)).thenReturn(Optional.of(new StockLevelDTO(1L, 7L)));
+
+        mockMvc.perform(post("/api/products/1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":-3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(1L))
+                .andExpect(jsonPath("$.quantity").value(7L));
+    }
+
+    @Test
+    public void shouldRejectStockAdjustmentBelowZero() throws Exception {
+        when(productService.adjustStock(1L, -30L)).thenReturn(Optional.empty());
+        when(productService.exists(1L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/products/1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":-30}"))
+                .andExpect(status().isConflict());
+    }
 
+    @Test
+    public void shouldGetProductsByIdsInRequestOrder() throws Exception {
+        ProductDTO second = new ProductDTO();
+        second.setId(2L);
+        second.setName("Product 2");
+        ProductDTO first = new ProductDTO();
+        first.setId(1L);
+        first.setName("Product 1");
+        when(productService.findAllByIds(List.of(2L, 7L, 1L))).thenReturn(new ProductBatchDTO(List.of(second, first), List.of(7L)));
+
+        mockMvc.perform(get("/api/products").param("ids", "2,7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(2L))
+                .andExpect(jsonPath("$.content[1].id").value(1L))
+                .andExpect(jsonPath("$.missing[0]").value(7L));
+
+        verify(productService, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(productService.findVersion(1L)).thenReturn(Optional.of(versionSnapshot(3, null)));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).findOne(anyLong());
+    }
+
+    @Test
+    public void shouldServeRenamedCategoryDespiteUnchangedVersion() throws Exception {
+        String toolsTag = "\"1-3-" + Integer.toHexString("Tools".hashCode()) + "\"";
+        String gardenTag = "\"1-3-" + Integer.toHexString("Garden".hashCode()) + "\"";
+        when(productService.findVersion(1L)).thenReturn(Optional.of(versionSnapshot(3, "Tools")));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", toolsTag))
+                .andExpect(status().isNotModified());
+
+        CategoryDTO garden = new CategoryDTO();
+        garden.setId(4L);
+        garden.setNameCategory("Garden");
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        productDTO.setVersion(3);
+        productDTO.setCategory(garden);
+        when(productService.findVersion(1L)).thenReturn(Optional.of(versionSnapshot(3, "Garden")));
+        when(productService.findOne(1L)).thenReturn(Optional.of(productDTO));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", toolsTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", gardenTag))
+                .andExpect(jsonPath("$.category.nameCategory").value("Garden"));
+    }
+
+    @Test
+    public void shouldIgnoreCategoryHashInIfMatch() throws Exception {
+        ProductDTO updated = new ProductDTO();
+        updated.setId(1L);
+        updated.setVersion(4);
+        when(productService.update(any(ProductDTO.class))).thenReturn(Optional.of(updated));
+
+        mockMvc.perform(put("/api/products/1")
+                        .header("If-Match", "\"1-3-" + Integer.toHexString("Tools".hashCode()) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"Product 1\",\"description\":\"Description\",\"price\":10.0,\"quantity\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+
+        verify(productService).update(ArgumentMatchers.argThat(product -> Integer.valueOf(3).equals(product.getVersion())));
+    }
+
+    @Test
+    public void shouldRejectUpdateWhenIfMatchIsStale() throws Exception {
+        when(productService.update(any(ProductDTO.class))).thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+        mockMvc.perform(put("/api/products/1")
+                        .header("If-Match", "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"Product 1\",\"description\":\"Description\",\"price\":10.0,\"quantity\":1}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService).update(ArgumentMatchers.argThat(product -> Integer.valueOf(3).equals(product.getVersion())));
+    }
+
+    @Test
+    public void shouldPatchProduct() throws Exception {
+        ProductDTO patched = new ProductDTO();
+        patched.setId(1L);
+        patched.setName("Product 1");
+        patched.setPrice(12.5);
+        patched.setVersion(5);
+        when(productService.partialUpdate(eq(1L), any(), ArgumentMatchers.isNull())).thenReturn(Optional.of(patched));
+
+        mockMvc.perform(patch("/api/products/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\":12.5}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-5\""))
+                .andExpect(jsonPath("$.price").value(12.5));
+    }
+
+    @Test
+    public void shouldRejectPatchWithUnknownCategory() throws Exception {
+        when(categoryService.exists(9L)).thenReturn(false);
+
+        mockMvc.perform(patch("/api/products/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"category\":{\"id\":9}}"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).partialUpdate(anyLong(), any(), any());
+    }
+
+    private static ProductRepository.VersionSnapshot versionSnapshot(Integer version, String categoryName) {
+        return new ProductRepository.VersionSnapshot() {
+            @Override
+            public Integer getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getCategoryName() {
+                return categoryName;
+            }
+        };
+    }
 }
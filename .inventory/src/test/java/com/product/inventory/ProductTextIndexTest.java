@@ -0,0 +1,108 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.search.ProductTextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductTextIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductTextIndex productTextIndex;
+
+    @BeforeEach
+    public void setUp() {
+        productTextIndex = new ProductTextIndex(productRepository, true, 2);
+        productTextIndex.rebuild();
+
+        productTextIndex.index(1L, 1, "Samsung Galaxy S24", "Android phone, 256GB");
+        productTextIndex.index(2L, 1, "Apple iPhone 15", "iOS phone");
+        productTextIndex.index(3L, 1, "Samsung Smart TV", "4K television");
+    }
+
+    @Test
+    public void shouldNarrowToProductsContainingEveryQueryToken() {
+        assertEquals(Optional.of(Set.of(1L, 3L)), productTextIndex.match("sams", null));
+        assertEquals(Optional.of(Set.of(1L, 3L)), productTextIndex.match("UNG", null));
+        assertEquals(Optional.of(Set.of(1L)), productTextIndex.match("ung gal", null));
+        // a candidate only: the caller confirms the order of the tokens against the text
+        assertEquals(Optional.of(Set.of(1L)), productTextIndex.match("GAL sam", null));
+        assertEquals(Optional.of(Set.of()), productTextIndex.match("galaxies", null));
+        assertEquals(Optional.of(Set.of(2L)), productTextIndex.match("phone", "ios"));
+        assertEquals(Optional.of(Set.of(1L)), productTextIndex.match(null, "phone, 256"));
+    }
+
+    @Test
+    public void shouldReflectUpdatesAndDeletes() {
+        productTextIndex.index(2L, 2, "Apple Watch", "wearable");
+        assertEquals(Optional.of(Set.of()), productTextIndex.match("iphone", null));
+
+        productTextIndex.remove(1L);
+        assertEquals(Optional.of(Set.of(3L)), productTextIndex.match("samsung", null));
+    }
+
+    @Test
+    public void shouldIgnoreOutdatedVersions() {
+        productTextIndex.index(2L, 3, "Apple Watch", "wearable");
+        // the event of an earlier commit arriving late
+        productTextIndex.index(2L, 2, "Apple iPad", "tablet");
+
+        assertEquals(Optional.of(Set.of(2L)), productTextIndex.match("watch", null));
+        assertEquals(Optional.of(Set.of()), productTextIndex.match("ipad", null));
+    }
+
+    @Test
+    public void shouldKeepWritesCommittedDuringRebuild() {
+        Product deleted = product(5L, 1, "Stale speaker");
+        Product renamed = product(6L, 1, "Stale radio");
+        doAnswer(invocation -> {
+            Consumer<List<Product>> consumer = invocation.getArgument(1);
+            // both writes commit after the scan read the rows
+            productTextIndex.remove(5L);
+            productTextIndex.index(6L, 2, "Kitchen radio", null);
+            consumer.accept(List.of(deleted, renamed));
+            return null;
+        }).when(productRepository).scanAll(anyInt(), any());
+
+        productTextIndex.rebuild();
+
+        assertEquals(Optional.of(Set.of()), productTextIndex.match("stale", null));
+        assertEquals(Optional.of(Set.of(6L)), productTextIndex.match("kitchen radio", null));
+    }
+
+    @Test
+    public void shouldFallBackWhenIndexCannotAnswer() {
+        assertTrue(productTextIndex.match(null, null).isEmpty());
+        assertTrue(productTextIndex.match("--", null).isEmpty());
+        assertTrue(productTextIndex.match("s", null).isPresent());
+        // three candidates exceed the configured maximum of two
+        productTextIndex.index(4L, 1, "Sony", "speaker");
+        assertTrue(productTextIndex.match("s", null).isEmpty());
+    }
+
+    private static Product product(Long id, Integer version, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setVersion(version);
+        product.setName(name);
+        return product;
+    }
+}
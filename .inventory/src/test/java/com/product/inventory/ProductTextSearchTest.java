@@ -0,0 +1,156 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.CategoryDTO;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.repository.specification.ProductSpecification;
+import com.product.inventory.service.CategoryService;
+import com.product.inventory.service.ProductService;
+import com.product.inventory.service.search.ProductColumnStore;
+import com.product.inventory.service.search.ProductTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the filter result cache would hide the path taken, switch it off
+@SpringBootTest(properties = "inventory.filter.cache.max-size=0")
+public class ProductTextSearchTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTextIndex productTextIndex;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    public void setUp() {
+        save("Samsung Galaxy S24", "Android phone, 256GB");
+        save("Apple iPhone 15", "iOS phone");
+        save("Samsung Smart TV", "4K television");
+        save("Gift card 50%", "Store_credit voucher");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldAnswerTextFiltersLikeTheDatabase() {
+        for (String name : List.of("sams", "UNG", "ung gal", "gal sam", "laxy s2", "50%", "e 1")) {
+            assertSamePaths(filter(name, null));
+        }
+        for (String description : List.of("phone", "one, 25", "e_c", "Store_credit", "vision")) {
+            assertSamePaths(filter(null, description));
+        }
+        assertEquals(1, assertSamePaths(filter("samsung", "phone")));
+        assertEquals(2, assertSamePaths(filter("ung", null)));
+        assertEquals(0, assertSamePaths(filter("gal sam", null)));
+        // wildcards are literal on both paths
+        assertEquals(1, assertSamePaths(filter("50%", null)));
+        assertEquals(0, assertSamePaths(filter(null, "e_cr_dit")));
+    }
+
+    @Test
+    public void shouldMatchCategoryWildcardsLiterally() {
+        save("Desk", null, categoryService.save(category("Home_Office")));
+        save("Lamp", null, categoryService.save(category("HomeXOffice")));
+        ProductColumnStore columnStore = new ProductColumnStore(productRepository, true);
+        columnStore.rebuild();
+
+        for (String categoryName : List.of("e_o", "home_", "%", "office", "E_OFF")) {
+            ProductFilterDTO filter = new ProductFilterDTO();
+            filter.setCategoryName(categoryName);
+            Set<String> database = productRepository.findAll(ProductSpecification.filterByCriteria(filter)).stream()
+                    .map(Product::getName).collect(Collectors.toSet());
+            Set<String> inMemory = columnStore.findPage(filter, null, PageRequest.of(0, 100)).orElseThrow().getContent().stream()
+                    .map(ProductDTO::getName).collect(Collectors.toSet());
+            assertEquals(database, inMemory, "category " + categoryName);
+            assertEquals(categoryName.equals("office") ? Set.of("Desk", "Lamp") : categoryName.equals("%") ? Set.of() : Set.of("Desk"), database, "category " + categoryName);
+        }
+    }
+
+    @Test
+    public void shouldSortNullsInMemoryLikeTheDatabase() {
+        Product unpriced = new Product();
+        unpriced.setName("Unpriced");
+        unpriced.setQuantity(3L);
+        productRepository.save(unpriced);
+        Product uncounted = new Product();
+        uncounted.setName("Uncounted");
+        uncounted.setPrice(2.0);
+        productRepository.save(uncounted);
+        ProductColumnStore columnStore = new ProductColumnStore(productRepository, true);
+        columnStore.rebuild();
+
+        for (Sort sort : List.of(Sort.by("price"), Sort.by("price").descending(), Sort.by("quantity"), Sort.by("quantity").descending())) {
+            PageRequest pageRequest = PageRequest.of(0, 100, sort.and(Sort.by("id")));
+            List<Long> database = productRepository.findAll(ProductSpecification.filterByCriteria(new ProductFilterDTO()), pageRequest).getContent().stream()
+                    .map(Product::getId).toList();
+            List<Long> inMemory = columnStore.findPage(new ProductFilterDTO(), null, pageRequest).orElseThrow().getContent().stream()
+                    .map(ProductDTO::getId).toList();
+            assertEquals(database, inMemory, "sort " + sort);
+        }
+    }
+
+    private int assertSamePaths(ProductFilterDTO filter) {
+        assertTrue(productTextIndex.match(filter.getName(), filter.getDescription()).isPresent(), "index path for " + filter.getName() + "/" + filter.getDescription());
+        Set<Long> indexed = productService.findAllByFilter(filter, PageRequest.of(0, 100, Sort.by("id"))).getContent().stream()
+                .map(ProductDTO::getId).collect(Collectors.toSet());
+        Set<Long> database = productRepository.findAll(ProductSpecification.filterByCriteria(filter)).stream()
+                .map(Product::getId).collect(Collectors.toSet());
+        assertEquals(database, indexed, "filter " + filter.getName() + "/" + filter.getDescription());
+        return indexed.size();
+    }
+
+    private void save(String name, String description) {
+        save(name, description, null);
+    }
+
+    private void save(String name, String description, CategoryDTO category) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setCategory(category);
+        productDTO.setName(name);
+        productDTO.setDescription(description);
+        productDTO.setPrice(1.0);
+        productDTO.setQuantity(1L);
+        productService.save(productDTO);
+    }
+
+    private static CategoryDTO category(String name) {
+        CategoryDTO category = new CategoryDTO();
+        category.setNameCategory(name);
+        return category;
+    }
+
+    private static ProductFilterDTO filter(String name, String description) {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName(name);
+        filter.setDescription(description);
+        return filter;
+    }
+}
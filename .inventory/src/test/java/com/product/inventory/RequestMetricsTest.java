@@ -0,0 +1,52 @@
+package com.product.inventory;
+
+import com.product.inventory.metrics.RequestMetricsFilter;
+import com.product.inventory.metrics.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestMetricsTest {
+
+    @Test
+    public void shouldRecordStatementsPerRequestByUriTemplate() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestMetricsFilter filter = new RequestMetricsFilter(registry, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+            StatementCounter.record("select 1");
+            StatementCounter.record("select 2");
+        });
+        StatementCounter.record("select outside of a request");
+
+        DistributionSummary summary = registry.get("inventory.http.statements").tag("uri", "/api/products/{id}").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    public void shouldCountNestedScopesAndDetectRepeatedSelects() {
+        try (StatementCounter.Scope request = StatementCounter.open("GET /api/products", 3)) {
+            StatementCounter.record("select p.id from product p where p.id in (?, ?)");
+            try (StatementCounter.Scope call = StatementCounter.open()) {
+                for (int i = 0; i < 3; i++) {
+                    StatementCounter.record("select c.id, c.name_category from category c where c.id = ?");
+                }
+                assertEquals(3, call.count());
+            }
+            StatementCounter.record("select p.id from product p where p.id in (?,?,?)");
+
+            assertEquals(5, request.count());
+            assertEquals(Set.of("select c.id, c.name_category from category c where c.id = ?"), request.repeatedSelects());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.Category;
+import com.product.inventory.domain.Product;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.domain.dto.ProductFilterDTO;
+import com.product.inventory.metrics.StatementCounter;
+import com.product.inventory.repository.CategoryRepository;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the filter result cache sits in front of the query cache, switch it off to exercise the latter
+@SpringBootTest(properties = "inventory.filter.cache.max-size=0")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        category = new Category();
+        category.setNameCategory("Cached");
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("Cached product");
+        product.setDescription("Cached description");
+        product.setPrice(10.0);
+        product.setQuantity(5L);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldServeRepeatedReadsFromCache() {
+        productService.findOne(product.getId()).orElseThrow();
+
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            ProductDTO cached = productService.findOne(product.getId()).orElseThrow();
+
+            assertEquals("Cached", cached.getCategory().getNameCategory());
+            assertEquals(0, statements.count());
+        }
+    }
+
+    @Test
+    public void shouldInvalidateOnUpdateAndStockAdjustment() {
+        ProductDTO productDTO = productService.findOne(product.getId()).orElseThrow();
+        productDTO.setPrice(12.5);
+        productService.update(productDTO).orElseThrow();
+
+        assertEquals(12.5, productService.findOne(product.getId()).orElseThrow().getPrice());
+
+        productService.adjustStock(product.getId(), -2L).orElseThrow();
+
+        assertEquals(3L, productService.findOne(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    public void shouldKeepOtherProductsCachedOnStockAdjustment() {
+        Product other = new Product();
+        other.setName("Other product");
+        other.setPrice(20.0);
+        other.setQuantity(1L);
+        other.setCategory(category);
+        other = productRepository.save(other);
+        productService.findOne(other.getId()).orElseThrow();
+
+        productService.adjustStock(product.getId(), -2L).orElseThrow();
+        assertTrue(productService.adjustStock(product.getId(), -4L).isEmpty());
+
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            assertEquals(1L, productService.findOne(other.getId()).orElseThrow().getQuantity());
+            assertEquals(0, statements.count());
+        }
+        assertEquals(3L, productService.findOne(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    public void shouldCacheFilterQueriesUntilProductsChange() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(5.0);
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("id"));
+        assertEquals(1, productService.findAllByFilter(filter, pageRequest).getTotalElements());
+
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            assertEquals(1, productService.findAllByFilter(filter, pageRequest).getTotalElements());
+            assertEquals(0, statements.count());
+        }
+
+        Product other = new Product();
+        other.setName("Other product");
+        other.setPrice(20.0);
+        other.setQuantity(1L);
+        productRepository.save(other);
+
+        assertEquals(2, productService.findAllByFilter(filter, pageRequest).getTotalElements());
+    }
+}
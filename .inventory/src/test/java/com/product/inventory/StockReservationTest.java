@@ -0,0 +1,209 @@
+package com.product.inventory;
+
+import com.product.inventory.domain.dto.ReservationDTO;
+import com.product.inventory.domain.dto.StockLevelDTO;
+import com.product.inventory.event.ProductChangedEvent;
+import com.product.inventory.repository.ProductRepository;
+import com.product.inventory.service.ProductService;
+import com.product.inventory.service.impl.StockReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductService productService;
+
+    private StockReservationServiceImpl stockReservationService;
+
+    @BeforeEach
+    public void setUp() {
+        stockReservationService = new StockReservationServiceImpl(productRepository, productService, Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void shouldNeverOversellUnderConcurrentReservations() throws InterruptedException {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(100L, 0)));
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (stockReservationService.reserve(1L, 1).isPresent()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, granted.get());
+        verify(productRepository, times(1)).findStockSnapshotById(1L);
+    }
+
+    @Test
+    public void shouldFlushOnlyCommittedReservations() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(10L, 0)));
+        when(productService.adjustStock(1L, -5L)).thenReturn(Optional.of(new StockLevelDTO(1L, 5L)));
+
+        ReservationDTO committed = stockReservationService.reserve(1L, 3).orElseThrow();
+        ReservationDTO other = stockReservationService.reserve(1L, 2).orElseThrow();
+        ReservationDTO released = stockReservationService.reserve(1L, 4).orElseThrow();
+        assertTrue(stockReservationService.commit(committed.getId()));
+        assertTrue(stockReservationService.commit(other.getId()));
+        assertTrue(stockReservationService.release(released.getId()));
+        assertFalse(stockReservationService.commit(released.getId()));
+
+        stockReservationService.flush();
+        stockReservationService.flush();
+
+        verify(productService, times(1)).adjustStock(1L, -5L);
+        assertTrue(stockReservationService.reserve(1L, 5).isPresent());
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+    }
+
+    @Test
+    public void shouldKeepCommittedSalesAndRefuseCommitsWhileFlushFails() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(10L, 1)));
+        when(productRepository.findQuantityById(1L)).thenReturn(Optional.of(2L));
+        when(productService.adjustStock(1L, -3L)).thenReturn(Optional.empty()).thenReturn(Optional.of(new StockLevelDTO(1L, 7L)));
+
+        ReservationDTO committed = stockReservationService.reserve(1L, 3).orElseThrow();
+        ReservationDTO held = stockReservationService.reserve(1L, 2).orElseThrow();
+        assertTrue(stockReservationService.commit(committed.getId()));
+        // stock lowered elsewhere below the committed sale
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 2L, 2));
+
+        stockReservationService.flush();
+
+        assertFalse(stockReservationService.commit(held.getId()));
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+
+        // restocked: the kept sale is written with the next flush and commits are accepted again
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 10L, 3));
+        stockReservationService.flush();
+
+        verify(productService, times(2)).adjustStock(1L, -3L);
+        ReservationDTO next = stockReservationService.reserve(1L, 7).orElseThrow();
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+        assertTrue(stockReservationService.commit(next.getId()));
+        verify(productRepository, times(1)).findStockSnapshotById(1L);
+    }
+
+    @Test
+    public void shouldRefuseCommitsOnceProductIsDeleted() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(10L, 0))).thenReturn(Optional.empty());
+        when(productRepository.findQuantityById(1L)).thenReturn(Optional.empty());
+        when(productService.adjustStock(1L, -3L)).thenReturn(Optional.empty());
+
+        ReservationDTO committed = stockReservationService.reserve(1L, 3).orElseThrow();
+        ReservationDTO held = stockReservationService.reserve(1L, 2).orElseThrow();
+        assertTrue(stockReservationService.commit(committed.getId()));
+
+        stockReservationService.flush();
+
+        assertFalse(stockReservationService.commit(held.getId()));
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+    }
+
+    @Test
+    public void shouldFoldExternalStockChangesIntoCounter() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(2L, 0)));
+
+        assertTrue(stockReservationService.reserve(1L, 2).isPresent());
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 5L, 1));
+
+        assertTrue(stockReservationService.reserve(1L, 3).isPresent());
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+    }
+
+    @Test
+    public void shouldApplyOutOfOrderStockEventsOnce() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(10L, 1)));
+        assertTrue(stockReservationService.reserve(1L, 1).isPresent());
+
+        // T1 commits quantity 5 (version 2), T2 commits quantity 3 (version 3); T2's listener runs first
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 3L, 3));
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 5L, 2));
+
+        assertTrue(stockReservationService.reserve(1L, 2).isPresent());
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+    }
+
+    @Test
+    public void shouldFoldExternalWriteCommittedDuringOwnFlush() {
+        when(productRepository.findStockSnapshotById(1L)).thenReturn(Optional.of(stock(10L, 1)));
+        ReservationDTO committed = stockReservationService.reserve(1L, 3).orElseThrow();
+        assertTrue(stockReservationService.commit(committed.getId()));
+        // a restock of 5 commits (version 2) just before the flush (version 3); its listener runs last
+        when(productService.adjustStock(1L, -3L)).thenAnswer(invocation -> {
+            stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 12L, 3));
+            return Optional.of(new StockLevelDTO(1L, 12L));
+        });
+
+        stockReservationService.flush();
+        stockReservationService.onProductChanged(ProductChangedEvent.stockAdjusted(1L, 15L, 2));
+
+        assertTrue(stockReservationService.reserve(1L, 12).isPresent());
+        assertFalse(stockReservationService.reserve(1L, 1).isPresent());
+    }
+
+    @Test
+    public void shouldRejectUnknownProduct() {
+        when(productRepository.findStockSnapshotById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(stockReservationService.reserve(9L, 1).isPresent());
+        stockReservationService.flush();
+
+        verify(productService, never()).adjustStock(anyLong(), anyLong());
+    }
+
+    private static ProductRepository.StockSnapshot stock(Long quantity, Integer version) {
+        return new ProductRepository.StockSnapshot() {
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Integer getVersion() {
+                return version;
+            }
+
+            @Override
+            public Double getPrice() {
+                return null;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return null;
+            }
+        };
+    }
+}
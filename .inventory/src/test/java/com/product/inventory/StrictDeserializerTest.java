@@ -0,0 +1,58 @@
+package com.product.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.product.inventory.domain.dto.ProductDTO;
+import com.product.inventory.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StrictDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    public void shouldReadNumericTokens() throws Exception {
+        ProductDTO productDTO = objectMapper.readValue("{\"price\":12,\"quantity\":7.9}", ProductDTO.class);
+
+        assertEquals(12.0, productDTO.getPrice());
+        assertEquals(7L, productDTO.getQuantity());
+    }
+
+    @Test
+    public void shouldRejectQuotedNumbersWithFieldInMessage() {
+        MismatchedInputException price = assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"price\":\"12\"}", ProductDTO.class));
+        MismatchedInputException quantity = assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"quantity\":\"3\"}", ProductDTO.class));
+
+        assertEquals(List.of("Price must be a valid number"), messages(price));
+        assertEquals(List.of("Quantity must be a valid number"), messages(quantity));
+    }
+
+    @Test
+    public void shouldReportMalformedJson() {
+        Exception malformed = assertThrows(Exception.class, () -> objectMapper.readValue("{\"price\":", ProductDTO.class));
+
+        assertEquals(1, messages(malformed).size());
+        assertTrue(messages(malformed).get(0).startsWith("Malformed JSON"));
+    }
+
+    @SuppressWarnings("deprecation")
+    private List<String> messages(Exception cause) {
+        ResponseEntity<Map<String, List<String>>> response = exceptionHandler.handleHttpMessageNotReadable(new HttpMessageNotReadableException("JSON parse error", cause));
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        return response.getBody().get("message");
+    }
+}